@@ -1,41 +1,244 @@
 package tracker;
 
 import tracker.courses.Course;
+import tracker.courses.CourseActivity;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.TrackerEngine;
+import tracker.input.ByteLineReader;
+import tracker.input.LineSource;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+import tracker.journal.JournalException;
+import tracker.metrics.Metrics;
+import tracker.metrics.MetricsDumper;
+import tracker.notification.*;
+import tracker.output.AsyncOutputSink;
+import tracker.output.OutputSink;
+import tracker.server.TrackerServer;
+import tracker.snapshot.Snapshot;
+import tracker.student.Credentials;
+import tracker.student.CredentialsParser;
 import tracker.student.Student;
-import tracker.student.StudentFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class App implements AutoCloseable {
+    private static final String IMPORT_STUDENTS_COMMAND = "import students ";
+    private static final String IMPORT_POINTS_COMMAND = "import points ";
+    private static final String SAVE_COMMAND = "save ";
+    private static final String LOAD_COMMAND = "load ";
+    private static final int IMPORT_BUFFER_SIZE = 1 << 16;
+    private static final int IMPORT_CHUNK_LINES = 1 << 14;
+    private static final Pattern COURSE_VIEW_PATTERN = Pattern.compile("(.+) (top|page) ([1-9]\\d{0,8})");
+    private static final Pattern PAGE_COMMAND_PATTERN = Pattern.compile("page ([1-9]\\d{0,8})");
+    private static final int COURSE_VIEW_PAGE_SIZE = 20;
+    private static final int NOTIFICATION_QUEUE_CAPACITY = 1 << 12;
+    private static final String ACTIVITY_COMMAND = "activity";
+    private static final String NEXT_PAGE_COMMAND = "next";
+    private static final String EMAIL_TAKEN_MESSAGE = "This email is already taken.";
+    private static final String FILE_COMMANDS_DISABLED_MESSAGE = "File commands are not available in network sessions.";
+    private static final int SCRIPT_COMMIT_LINES = 1 << 16;
+
+    private final TrackerEngine engine;
+    private final Map<Integer, Student> studentsList;
+
+    private LineSource input;
+    private boolean script = false;
+    private long linesRead = 0;
+    private final OutputSink out;
+    private Journal journal = Journal.disabled();
+    private long snapshotJournalEntries = 0;
+    private String notificationSinkSpec = "console";
+    private NotificationSink notificationSink;
+    private int notificationBatchSize = 64;
+    private int maxNotificationsPerSecond = 0;
+    private NotificationDispatcher notificationDispatcher;
+    private long reportedDeliveries = 0;
+    private long reportedFailures = 0;
+    private long reportedBatches = 0;
+    private TrackerServer server;
+    // Network clients must not read or write files with the rights of the server process.
+    private boolean fileCommandsEnabled = true;
+    private final Metrics metrics;
+    private MetricsDumper metricsDumper;
 
-public class App {
-    public static final Set<String> allCoursesNames = Set.of("Java", "DSA", "Databases", "Spring");
+    private boolean exit = false;
+    private boolean closed = false;
+    // The course and offset `next` continues from in the statistics session.
+    private String pagedCourseName;
+    private int nextPageOffset;
 
-    private final Map<Integer, Student> studentsList = new LinkedHashMap<>();
-    private final StudentFactory studentFactory = new StudentFactory();
+    public App() {
+        this(new TrackerEngine());
+    }
 
-    private final Scanner scanner = new Scanner(System.in);
+    public App(TrackerEngine engine) {
+        this(engine, new Scanner(System.in)::nextLine, new AsyncOutputSink(System.out));
+    }
 
-    private boolean exit = false;
+    // A session on a shared engine, e.g. one network client.
+    public App(TrackerEngine engine, InputStream in, OutputSink out) {
+        this(engine, new Scanner(in, StandardCharsets.UTF_8)::nextLine, out);
+    }
 
+    private App(TrackerEngine engine, LineSource input, OutputSink out) {
+        this.engine = engine;
+        this.studentsList = engine.getStudents();
+        this.input = input;
+        this.out = out;
+        this.notificationSink = new ConsoleNotificationSink(out);
+        this.metrics = engine.getMetrics();
+    }
+
+    // Must be called before openJournal, which then skips the journal records the snapshot already covers.
+    public void loadSnapshot(Path path) throws IOException {
+        snapshotJournalEntries = engine.loadSnapshot(path);
+    }
+
+    public void openJournal(Path path, DurabilityMode durabilityMode) throws IOException {
+        journal = Journal.open(path, durabilityMode, engine.getJournalReplayer(), snapshotJournalEntries);
+
+        if (journal.getEntriesAmount() < snapshotJournalEntries) {
+            journal.close();
+            journal = Journal.disabled();
+            throw new IOException("the snapshot covers more records than the journal contains");
+        }
+        engine.setJournal(journal);
+    }
+
+    // sinkSpec is console, maildir:<directory> or smtp:<host>:<port>.
+    public void configureNotifications(String sinkSpec, int batchSize, int maxMessagesPerSecond) throws IOException {
+        if (batchSize < 1 || maxMessagesPerSecond < 0) {
+            throw new IllegalArgumentException("Incorrect notification batch size or rate");
+        }
+        if (sinkSpec.equals("console")) {
+            notificationSink = new ConsoleNotificationSink(out);
+        } else if (sinkSpec.startsWith("maildir:")) {
+            notificationSink = new MaildirNotificationSink(Path.of(sinkSpec.substring("maildir:".length())));
+        } else if (sinkSpec.startsWith("smtp:") && sinkSpec.lastIndexOf(':') > "smtp:".length()) {
+            int portSeparator = sinkSpec.lastIndexOf(':');
+            notificationSink = new SmtpNotificationSink(sinkSpec.substring("smtp:".length(), portSeparator),
+                    Integer.parseInt(sinkSpec.substring(portSeparator + 1)));
+        } else {
+            throw new IllegalArgumentException("Unknown notification sink " + sinkSpec);
+        }
+        notificationSinkSpec = sinkSpec;
+        notificationBatchSize = batchSize;
+        maxNotificationsPerSecond = maxMessagesPerSecond;
+    }
+
+    // Appends the metrics to the file every periodSeconds until this app exits.
+    public void dumpMetrics(Path file, long periodSeconds) throws IOException {
+        metricsDumper = new MetricsDumper(metrics, file, periodSeconds);
+    }
+
+    // Serves the same commands to every client connecting to the local port until this app exits.
+    // Sessions share the tracker and the notification settings. Returns the port.
+    public int startServer(int port) throws IOException {
+        server = new TrackerServer(port, (in, sessionOut) -> {
+            App session = new App(engine, in, sessionOut);
+            session.fileCommandsEnabled = false;
+            session.configureNotifications(notificationSinkSpec, notificationBatchSize, maxNotificationsPerSecond);
+            session.init();
+        });
+        return server.getPort();
+    }
+
+    // Closes this app when the session ends, however it ends.
     public void init() {
-        System.out.println("Learning Progress Tracker");
+        try {
+            out.println("Learning Progress Tracker");
+
+            try {
+                runCommands();
+            } catch (NoSuchElementException e) {
+                // the input has ended
+            }
+            if (server != null) {
+                server.close();
+            }
+            out.println("Bye!");
+        } finally {
+            close();
+        }
+    }
+
+    // Stops the server, delivers pending notifications and writes the last metrics, then closes the output
+    // and the journal. Only delivering can fail, and the rest is closed anyway; closing again does nothing.
+    // Gives back the student IDs reserved for the calling thread, which is the session's own when init ends.
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
 
+        engine.releaseUnusedIds();
+        if (server != null) {
+            server.close();
+        }
+        try {
+            if (notificationDispatcher != null) {
+                notificationDispatcher.close();
+            }
+        } finally {
+            if (metricsDumper != null) {
+                metricsDumper.close();
+            }
+            out.close();
+            journal.close();
+        }
+    }
+
+    // Runs a script of commands like typed ones, but reads it with a byte-level reader and, as nobody waits
+    // for the answer to a line, neither flushes the output nor commits the journal after every line.
+    public void runScript(InputStream script) {
+        input = new ByteLineReader(script);
+        this.script = true;
+        init();
+    }
+
+    // Every line read counts, including the ones inside the add students or statistics sessions.
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    private void runCommands() {
         while (!exit) {
             String command = scanInput();
+            long startTime = System.nanoTime();
             switch (command) {
                 case "":
-                    System.out.println("no input.");
+                    out.println("no input.");
                     break;
                 case "add students":
                     addStudentsSession();
                     break;
                 case "back":
-                    System.out.println("Enter 'exit' to exit the program.");
+                    out.println("Enter 'exit' to exit the program.");
                     break;
                 case "exit":
                     exit = true;
                     break;
                 case "list":
                     printStudentsList();
+                    metrics.recordCommand("list", startTime);
                     break;
                 case "add points":
                     addPointsSession();
@@ -48,24 +251,49 @@ public class App {
                     break;
                 case "notify":
                     notifyStudentsWhoFinishedCourses();
+                    metrics.recordCommand("notify", startTime);
+                    break;
+                case "metrics":
+                    out.print(metrics.render());
                     break;
                 default:
-                    System.out.println("Unknown command");
+                    if (!fileCommandsEnabled && isFileCommand(command)) {
+                        out.println(FILE_COMMANDS_DISABLED_MESSAGE);
+                    } else if (command.startsWith(IMPORT_STUDENTS_COMMAND)) {
+                        importStudents(command.substring(IMPORT_STUDENTS_COMMAND.length()).trim());
+                        metrics.recordCommand("import students", startTime);
+                    } else if (command.startsWith(IMPORT_POINTS_COMMAND)) {
+                        importPoints(command.substring(IMPORT_POINTS_COMMAND.length()).trim());
+                        metrics.recordCommand("import points", startTime);
+                    } else if (command.startsWith(SAVE_COMMAND)) {
+                        saveSnapshot(command.substring(SAVE_COMMAND.length()).trim());
+                        metrics.recordCommand("save", startTime);
+                    } else if (command.startsWith(LOAD_COMMAND)) {
+                        loadSnapshot(command.substring(LOAD_COMMAND.length()).trim());
+                        metrics.recordCommand("load", startTime);
+                    } else {
+                        out.println("Unknown command");
+                        metrics.increment(Metrics.UNKNOWN_COMMAND);
+                    }
                     break;
             }
         }
-        System.out.println("Bye!");
+    }
+
+    private static boolean isFileCommand(String command) {
+        return command.startsWith(IMPORT_STUDENTS_COMMAND) || command.startsWith(IMPORT_POINTS_COMMAND)
+                || command.startsWith(SAVE_COMMAND) || command.startsWith(LOAD_COMMAND);
     }
 
     private void addStudentsSession() {
         int addedStudents = 0;
 
-        System.out.println("Enter student credentials or 'back' to return:");
+        out.println("Enter student credentials or 'back' to return:");
 
         while (true) {
             String command = scanInput();
             if (command.equals("back")) {
-                System.out.printf("Total %d students have been added.%n", addedStudents);
+                out.printf("Total %d students have been added.%n", addedStudents);
                 return;
             } else if (tryToAddStudent(command)) {
                 addedStudents++;
@@ -74,81 +302,101 @@ public class App {
     }
 
     private boolean tryToAddStudent(String studentCredentials) {
+        long startTime = System.nanoTime();
         try {
-            validateStudentCredentials(studentCredentials);
+            addStudent(studentCredentials);
         } catch (IllegalArgumentException e) {
-            System.out.println(e.getMessage());
+            countRejectedStudent(e);
+            out.println(e.getMessage());
+            return false;
+        } catch (JournalException e) {
+            printJournalFailure(e);
             return false;
+        } finally {
+            metrics.recordCommand("add students", startTime);
         }
 
-        String name = studentCredentials.substring(0, studentCredentials.indexOf(" "));
-        String lastName = studentCredentials.substring(studentCredentials.indexOf(" ") + 1, studentCredentials.lastIndexOf(" "));
-        String email = studentCredentials.substring(studentCredentials.lastIndexOf(" ") + 1);
-
-        Student student = studentFactory.getStudent(name, lastName, email);
-        studentsList.put(student.getID(), student);
-        System.out.println("The student has been added");
-
+        out.println("The student has been added");
         return true;
     }
 
-    private void validateStudentCredentials(String studentCredentials) throws IllegalArgumentException {
-        if (studentCredentials.split(" ").length < 3) {
-            throw new IllegalArgumentException("Incorrect credentials.");
-        }
+    private void addStudent(String studentCredentials) throws IllegalArgumentException {
+        Credentials credentials = validateStudentCredentials(studentCredentials);
 
-        String name = studentCredentials.substring(0, studentCredentials.indexOf(" "));
-        String lastName = studentCredentials.substring(studentCredentials.indexOf(" ") + 1, studentCredentials.lastIndexOf(" "));
-        String email = studentCredentials.substring(studentCredentials.lastIndexOf(" ") + 1);
+        engine.register(credentials.getName(), credentials.getLastName(), credentials.getEmail());
+        metrics.increment(Metrics.STUDENTS_ADDED);
+    }
 
-        if (!isNameCorrect(name)) {
-            throw new IllegalArgumentException("Incorrect first name.");
-        } else if (!isNameCorrect(lastName)) {
-            throw new IllegalArgumentException("Incorrect last name.");
-        } else if (!isEmailCorrect(email)) {
-            throw new IllegalArgumentException("Incorrect email.");
-        } else if (isEmailTaken(email)) {
-            throw new IllegalArgumentException("This email is already taken.");
-        }
+    private void countRejectedStudent(IllegalArgumentException e) {
+        metrics.increment(EMAIL_TAKEN_MESSAGE.equals(e.getMessage())
+                ? Metrics.EMAIL_TAKEN : Metrics.INCORRECT_CREDENTIALS);
     }
 
-    private boolean isNameCorrect(String name) {
-        name = name.replace(" ", "");
+    private void importStudents(String fileName) {
+        int importedStudents = 0;
+        Map<String, Integer> rejectedLines = new LinkedHashMap<>();
 
-        if (!name.matches("\\b[A-Za-z]+[A-Za-z-']+") || name.matches(".*[-'][-'].*")) {
-            return false;
+        try (BufferedReader reader = openForImport(fileName)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    addStudent(line);
+                    importedStudents++;
+                } catch (IllegalArgumentException e) {
+                    countRejectedStudent(e);
+                    rejectedLines.merge(e.getMessage(), 1, Integer::sum);
+                }
+            }
+        } catch (IOException | InvalidPathException e) {
+            out.println("Cannot read file " + fileName);
+        } catch (JournalException e) {
+            // The students before the failed one stay imported and are counted below.
+            out.println("Cannot import file " + fileName + ": " + e.getCause());
         }
 
-        return Character.isLetter(name.charAt(name.length() - 1));
+        out.printf("Total %d students have been imported.%n", importedStudents);
+        for (Map.Entry<String, Integer> rejected : rejectedLines.entrySet()) {
+            out.printf("Rejected %d lines: %s%n", rejected.getValue(), rejected.getKey());
+        }
     }
 
-    private boolean isEmailCorrect(String email) {
-        return email.matches("([^@])+@([^@.])+\\.([^@.])+");
+    private BufferedReader openForImport(String fileName) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                Files.newInputStream(Path.of(fileName)), StandardCharsets.UTF_8), IMPORT_BUFFER_SIZE);
     }
 
-    private boolean isEmailTaken(String email) {
-        for (Student student : studentsList.values()) {
-            if (student.getEmail().equals(email)) {
-                return true;
-            }
+    private Credentials validateStudentCredentials(String studentCredentials) throws IllegalArgumentException {
+        Credentials credentials = CredentialsParser.parse(studentCredentials);
+
+        if (isEmailTaken(credentials.getEmail())) {
+            throw new IllegalArgumentException(EMAIL_TAKEN_MESSAGE);
         }
-        return false;
+        return credentials;
+    }
+
+    private boolean isEmailTaken(String email) {
+        return engine.isEmailTaken(email);
     }
 
     private void printStudentsList() {
         if (studentsList.isEmpty()) {
-            System.out.println("No students found");
+            out.println("No students found");
             return;
         }
 
-        System.out.println("Students:");
+        out.println("Students:");
         for (Student student : studentsList.values()) {
-            System.out.println(student.getID());
+            out.println(String.valueOf(student.getID()));
         }
     }
 
     private void addPointsSession() {
-        System.out.println("Enter an id and points or 'back' to return:");
+        out.println("Enter an id and points or 'back' to return:");
 
         while (true) {
             String command = scanInput();
@@ -161,23 +409,26 @@ public class App {
     }
 
     private void tryToAddPoints(String command) {
+        long startTime = System.nanoTime();
         String[] input = command.split(" ");
         String candidateForID = input[0];
         Student targetStudent = findStudent(candidateForID);
 
         if (targetStudent == null) {
-            System.out.printf("No student is found for id=%s %n", candidateForID);
-            return;
-        }
-
-        String[] singlePoints = Arrays.copyOfRange(input, 1, input.length);
-
-        if (isPointsFormatValid(singlePoints)) {
-            addPoints(singlePoints, targetStudent);
-            System.out.println("Points updated");
+            metrics.increment(Metrics.UNKNOWN_ID);
+            out.printf("No student is found for id=%s %n", candidateForID);
         } else {
-            System.out.println("Incorrect points format");
+            String[] singlePoints = Arrays.copyOfRange(input, 1, input.length);
+
+            if (!isPointsFormatValid(singlePoints)) {
+                metrics.increment(Metrics.INCORRECT_POINTS_FORMAT);
+                out.println("Incorrect points format");
+            } else if (tryToAddPoints(singlePoints, targetStudent)) {
+                metrics.increment(Metrics.POINTS_UPDATES);
+                out.println("Points updated");
+            }
         }
+        metrics.recordCommand("add points", startTime);
     }
 
     private Student findStudent(String candidateForID) {
@@ -189,7 +440,7 @@ public class App {
 
     private boolean isPointsFormatValid(String[] singlePoints) {
 
-        if (singlePoints.length != 4) {
+        if (singlePoints.length != engine.getCatalog().size()) {
             return false;
         }
 
@@ -210,112 +461,405 @@ public class App {
         }
     }
 
-    private void addPoints(String[] singlePoints, Student targetStudent) {
-        targetStudent.addPoints(
-                Integer.parseInt(singlePoints[0]),
-                Integer.parseInt(singlePoints[1]),
-                Integer.parseInt(singlePoints[2]),
-                Integer.parseInt(singlePoints[3])
-        );
+    private void importPoints(String fileName) {
+        long startTime = System.nanoTime();
+        PointsImportResult result = new PointsImportResult();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService parsers = Executors.newFixedThreadPool(threads);
+        Deque<Future<PointsLogParser.ParsedChunk>> pendingChunks = new ArrayDeque<>();
+        int coursesAmount = engine.getCatalog().size();
+
+        try (BufferedReader reader = openForImport(fileName)) {
+            List<String> lines = new ArrayList<>(IMPORT_CHUNK_LINES);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                lines.add(line);
+                if (lines.size() == IMPORT_CHUNK_LINES) {
+                    List<String> chunk = lines;
+                    pendingChunks.add(parsers.submit(() -> PointsLogParser.parse(chunk, coursesAmount)));
+                    lines = new ArrayList<>(IMPORT_CHUNK_LINES);
+                }
+
+                // Chunks are applied strictly in file order, so every student receives
+                // their updates in the original order while later chunks are being parsed.
+                if (pendingChunks.size() > 2 * threads) {
+                    applyPoints(pendingChunks.remove().get(), result);
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> chunk = lines;
+                pendingChunks.add(parsers.submit(() -> PointsLogParser.parse(chunk, coursesAmount)));
+            }
+
+            while (!pendingChunks.isEmpty()) {
+                applyPoints(pendingChunks.remove().get(), result);
+            }
+        } catch (IOException | InvalidPathException e) {
+            out.println("Cannot read file " + fileName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The chunks before the failed one stay applied and are counted below.
+            out.println("Cannot import file " + fileName + ": " + e.getCause());
+        } catch (JournalException e) {
+            out.println("Cannot import file " + fileName + ": " + e.getCause());
+        } finally {
+            parsers.shutdownNow();
+        }
+
+        metrics.add(Metrics.POINTS_UPDATES, result.processedLines - result.incorrectLines - result.unknownStudentLines);
+        metrics.add(Metrics.INCORRECT_POINTS_FORMAT, result.incorrectLines);
+        metrics.add(Metrics.UNKNOWN_ID, result.unknownStudentLines);
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        out.printf("Total %d lines have been processed in %d ms (%d lines/s).%n",
+                result.processedLines, elapsedMillis, result.processedLines * 1000L / Math.max(elapsedMillis, 1));
+        out.printf("Rejected %d lines: Incorrect points format%n", result.incorrectLines);
+        out.printf("Rejected %d lines: No student is found%n", result.unknownStudentLines);
+    }
+
+    private void applyPoints(PointsLogParser.ParsedChunk parsed, PointsImportResult result) {
+        int[] values = parsed.values;
+        // Reused for every line: the engine is done with the points when addPoints returns.
+        int[] points = new int[parsed.fieldsPerLine - 1];
+
+        for (int line = 0; line < parsed.parsedLines; line++) {
+            int offset = line * parsed.fieldsPerLine;
+            Student targetStudent = studentsList.get(values[offset]);
+            if (targetStudent == null) {
+                result.unknownStudentLines++;
+            } else {
+                System.arraycopy(values, offset + 1, points, 0, points.length);
+                engine.addPoints(targetStudent, points);
+            }
+        }
+        result.processedLines += parsed.parsedLines + parsed.incorrectLines;
+        result.incorrectLines += parsed.incorrectLines;
+    }
+
+    private boolean tryToAddPoints(String[] singlePoints, Student targetStudent) {
+        int[] points = new int[singlePoints.length];
+        for (int ordinal = 0; ordinal < points.length; ordinal++) {
+            points[ordinal] = Integer.parseInt(singlePoints[ordinal]);
+        }
+        try {
+            engine.addPoints(targetStudent, points);
+            return true;
+        } catch (JournalException e) {
+            printJournalFailure(e);
+            return false;
+        }
+    }
+
+    // Only the command fails; the session goes on.
+    private void printJournalFailure(JournalException e) {
+        out.println("Cannot write journal: " + e.getCause());
+    }
+
+    private void saveSnapshot(String fileName) {
+        int savedStudents;
+        try {
+            savedStudents = engine.saveSnapshot(Path.of(fileName));
+        } catch (IOException | InvalidPathException e) {
+            out.println("Cannot write file " + fileName);
+            return;
+        }
+        out.printf("Total %d students have been saved.%n", savedStudents);
+    }
+
+    private void loadSnapshot(String fileName) {
+        if (!studentsList.isEmpty() || engine.isJournalEnabled()) {
+            out.println("A snapshot can only be loaded into an empty tracker without a journal.");
+            return;
+        }
+
+        try {
+            loadSnapshot(Path.of(fileName));
+        } catch (IOException | InvalidPathException e) {
+            out.println("Cannot read file " + fileName);
+            return;
+        }
+        out.printf("Total %d students have been loaded.%n", studentsList.size());
     }
 
     private void printStudentDetailsSession() {
-        System.out.println("Enter an id or 'back' to return:");
+        out.println("Enter an id or 'back' to return:");
 
         while (true) {
             String command = scanInput();
             if (command.equals("back")) {
                 return;
             } else {
+                long startTime = System.nanoTime();
                 Student targetStudent = findStudent(command);
                 if (targetStudent != null) {
                     printStudentPoints(targetStudent);
                 } else {
-                    System.out.println("No student is found for id=" + command);
+                    metrics.increment(Metrics.UNKNOWN_ID);
+                    out.println("No student is found for id=" + command);
                 }
+                metrics.recordCommand("find", startTime);
             }
         }
     }
 
     private void printStudentPoints(Student student) {
         StringBuilder sb = new StringBuilder(student.getID() + " points: ");
-        for (Course course : student.getCourses().values()) {
-            sb.append(course.NAME).append("=").append(course.getPoints()).append(" ");
+        for (int ordinal = 0; ordinal < engine.getCatalog().size(); ordinal++) {
+            Course course = student.getCourse(ordinal);
+            if (course != null) {
+                sb.append(course.NAME).append("=").append(course.getPoints()).append(" ");
+            }
         }
-        System.out.println(sb.toString().trim());
+        out.println(sb.toString().trim());
     }
 
     private void statisticsSession() {
-        System.out.println("Type the name of a course to see details or 'back' to quit");
+        out.println("Type the name of a course to see details or 'back' to quit");
+        long statisticsStartTime = System.nanoTime();
         printStats();
+        metrics.recordCommand("statistics", statisticsStartTime);
+        pagedCourseName = null;
 
         while (true) {
             String command = scanInput();
             if (command.equals("back")) {
                 return;
+            } else if (command.equals(ACTIVITY_COMMAND) && !engine.getCatalog().contains(command)) {
+                long startTime = System.nanoTime();
+                printActivity();
+                metrics.recordCommand("activity", startTime);
             } else {
-                System.out.print(CoursesStatistics.getCourseParticipantsAndTheirStats(studentsList, command));
+                long startTime = System.nanoTime();
+                printCourseDetails(command);
+                metrics.recordCommand("course details", startTime);
+            }
+        }
+    }
+
+    // `next` and `page N` continue the course of the last `top` or `page` view; names of courses come first.
+    private void printCourseDetails(String command) {
+        if (!engine.getCatalog().contains(command)) {
+            Matcher pageMatcher = PAGE_COMMAND_PATTERN.matcher(command);
+            if (command.equals(NEXT_PAGE_COMMAND) && pagedCourseName != null) {
+                printCoursePage(pagedCourseName, nextPageOffset);
+                return;
+            } else if (pageMatcher.matches() && pagedCourseName != null) {
+                printCoursePage(pagedCourseName, pageOffset(Integer.parseInt(pageMatcher.group(1))));
+                return;
             }
         }
+
+        Matcher viewMatcher = COURSE_VIEW_PATTERN.matcher(command);
+        if (!viewMatcher.matches()) {
+            printCourseParticipantsAndTheirStats(command, 0, Integer.MAX_VALUE);
+            return;
+        }
+
+        String courseName = viewMatcher.group(1);
+        int number = Integer.parseInt(viewMatcher.group(3));
+        if (viewMatcher.group(2).equals("top")) {
+            printCourseParticipantsAndTheirStats(courseName, 0, number);
+            setNextPage(courseName, number);
+        } else {
+            printCoursePage(courseName, pageOffset(number));
+        }
+    }
+
+    private void printCoursePage(String courseName, int offset) {
+        printCourseParticipantsAndTheirStats(courseName, offset, COURSE_VIEW_PAGE_SIZE);
+        setNextPage(courseName, (long) offset + COURSE_VIEW_PAGE_SIZE);
+    }
+
+    private void setNextPage(String courseName, long offset) {
+        pagedCourseName = engine.getCatalog().contains(courseName) ? courseName : null;
+        nextPageOffset = (int) Math.min(Integer.MAX_VALUE, offset);
+    }
+
+    private static int pageOffset(int page) {
+        return (int) Math.min(Integer.MAX_VALUE, (page - 1L) * COURSE_VIEW_PAGE_SIZE);
+    }
+
+    private void printCourseParticipantsAndTheirStats(String courseName, int offset, int limit) {
+        long startTime = System.nanoTime();
+        engine.printCourseParticipantsAndTheirStats(courseName, offset, limit, out);
+        metrics.recordComputation("course participants", startTime);
     }
 
     private void printStats() {
-        Set<String> mostPopularCoursesNames = CoursesStatistics.getMostPopularCoursesNames(studentsList);
-        Set<String> leastPopularCoursesNames = CoursesStatistics.getLeastPopularCoursesNames(studentsList);
-        Set<String> highestActivityCoursesNames = CoursesStatistics.getHighestActivityCoursesNames(studentsList);
-        Set<String> lowestActivityCoursesNames = CoursesStatistics.getLowestActivityCoursesNames(studentsList);
-        Set<String> easiesCoursesNames = CoursesStatistics.getEasiestCoursesNames(studentsList);
-        Set<String> hardestCoursesNames = CoursesStatistics.getHardestCoursesNames(studentsList);
+        long startTime = System.nanoTime();
+        String overview = engine.getStatisticsOverview(this::renderStats);
+        metrics.recordComputation("statistics overview", startTime);
+        out.print(overview);
+    }
+
+    private String renderStats(CoursesAggregates coursesAggregates) {
+        Set<String> mostPopularCoursesNames =
+                timed("most popular", CoursesStatistics::getMostPopularCoursesNames, coursesAggregates);
+        Set<String> leastPopularCoursesNames =
+                timed("least popular", CoursesStatistics::getLeastPopularCoursesNames, coursesAggregates);
+        Set<String> highestActivityCoursesNames =
+                timed("highest activity", CoursesStatistics::getHighestActivityCoursesNames, coursesAggregates);
+        Set<String> lowestActivityCoursesNames =
+                timed("lowest activity", CoursesStatistics::getLowestActivityCoursesNames, coursesAggregates);
+        Set<String> easiesCoursesNames =
+                timed("easiest course", CoursesStatistics::getEasiestCoursesNames, coursesAggregates);
+        Set<String> hardestCoursesNames =
+                timed("hardest course", CoursesStatistics::getHardestCoursesNames, coursesAggregates);
+        String lineSeparator = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
 
         String mostPopularCourses = String.join(", ", mostPopularCoursesNames);
-        System.out.println("Most popular: " + (mostPopularCourses.isEmpty() ? "n/a" : mostPopularCourses));
+        sb.append("Most popular: ").append(mostPopularCourses.isEmpty() ? "n/a" : mostPopularCourses)
+                .append(lineSeparator);
 
         leastPopularCoursesNames.removeAll(mostPopularCoursesNames);
         String leastPopularCourses = String.join(", ", leastPopularCoursesNames);
-        System.out.println("Least popular: " + (leastPopularCourses.isEmpty() ? "n/a" : leastPopularCoursesNames));
+        sb.append("Least popular: ").append(leastPopularCourses.isEmpty() ? "n/a" : leastPopularCoursesNames)
+                .append(lineSeparator);
 
         String highestActivityCourses = String.join(", ", highestActivityCoursesNames);
-        System.out.println("Highest activity: " + (highestActivityCourses.isEmpty() ? "n/a" : highestActivityCourses));
+        sb.append("Highest activity: ").append(highestActivityCourses.isEmpty() ? "n/a" : highestActivityCourses)
+                .append(lineSeparator);
 
         lowestActivityCoursesNames.removeAll(highestActivityCoursesNames);
         String lowestActivityCourses = String.join(", ", lowestActivityCoursesNames);
-        System.out.println("Lowest activity: " + (lowestActivityCourses.isEmpty() ? "n/a" : lowestActivityCourses));
+        sb.append("Lowest activity: ").append(lowestActivityCourses.isEmpty() ? "n/a" : lowestActivityCourses)
+                .append(lineSeparator);
 
         String easiestCourses = String.join(", ", easiesCoursesNames);
-        System.out.println("Easiest course: " + (easiestCourses.isEmpty() ? "n/a" : easiestCourses));
+        sb.append("Easiest course: ").append(easiestCourses.isEmpty() ? "n/a" : easiestCourses)
+                .append(lineSeparator);
 
         hardestCoursesNames.removeAll(easiesCoursesNames);
         String hardestCourses = String.join(", ", hardestCoursesNames);
-        System.out.println("Hardest course: " + (hardestCourses.isEmpty() ? "n/a" : hardestCourses));
+        sb.append("Hardest course: ").append(hardestCourses.isEmpty() ? "n/a" : hardestCourses)
+                .append(lineSeparator);
+        return sb.toString();
     }
 
-    private void notifyStudentsWhoFinishedCourses() {
-        int notifiedStudentsCounter = 0;
-
-        for (Student student : studentsList.values()) {
-            boolean notify = false;
+    // Tasks completed per course in each window, then the most active courses of each window.
+    private void printActivity() {
+        CourseActivity courseActivity = engine.getCourseActivity();
+        CourseCatalog catalog = courseActivity.getCatalog();
+        CourseActivity.Window[] windows = CourseActivity.Window.values();
 
-            for (Course course : student.getCourses().values()) {
-                if (course.isFinished() && !course.isNotified()) {
-                    printNotify(student, course);
-                    course.setNotified(true);
-                    notify = true;
-                }
+        StringBuilder sb = new StringBuilder(String.format("%-16s", "course"));
+        for (CourseActivity.Window window : windows) {
+            sb.append(String.format(" %10s", window));
+        }
+        out.println(sb.toString());
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            sb.setLength(0);
+            sb.append(String.format("%-16s", catalog.getName(ordinal)));
+            for (CourseActivity.Window window : windows) {
+                sb.append(String.format(" %10d", courseActivity.getTasksAmount(ordinal, window)));
             }
+            out.println(sb.toString());
+        }
+
+        for (CourseActivity.Window window : windows) {
+            String highestActivityCourses =
+                    String.join(", ", CoursesStatistics.getHighestActivityCoursesNames(courseActivity, window));
+            out.println("Highest activity in the " + window + ": "
+                    + (highestActivityCourses.isEmpty() ? "n/a" : highestActivityCourses));
+        }
+    }
+
+    private Set<String> timed(String computation, Function<CoursesAggregates, Set<String>> statistic,
+                              CoursesAggregates coursesAggregates) {
+        long startTime = System.nanoTime();
+        Set<String> coursesNames = statistic.apply(coursesAggregates);
+        metrics.recordComputation(computation, startTime);
+        return coursesNames;
+    }
+
+    private void notifyStudentsWhoFinishedCourses() {
+        int notifiedStudentsCounter = engine.notifyFinishedCourses((student, course) ->
+                notificationDispatcher().submit(new Notification(student.getID(), student.getEmail(),
+                        student.getName(), student.getLastName(), course.NAME)));
+        long failedNotifications = 0;
+        if (notificationDispatcher != null) {
+            notificationDispatcher.flush();
+            failedNotifications = notificationDispatcher.getFailedAmount() - reportedFailures;
+            reportDeliveries();
+        }
+        metrics.add(Metrics.STUDENTS_NOTIFIED, notifiedStudentsCounter);
+        out.printf("Total %d students have been notified.%n", notifiedStudentsCounter);
+        if (failedNotifications > 0) {
+            out.printf("%d notifications could not be delivered and will be retried on the next notify.%n",
+                    failedNotifications);
+        }
+    }
+
+    // Adds what this session's dispatcher delivered since the last report to the shared counters.
+    private void reportDeliveries() {
+        long deliveries = notificationDispatcher.getDeliveredAmount();
+        long failures = notificationDispatcher.getFailedAmount();
+        long batches = notificationDispatcher.getBatchesAmount();
+        metrics.add(Metrics.NOTIFICATIONS_DELIVERED, deliveries - reportedDeliveries);
+        metrics.add(Metrics.NOTIFICATION_FAILURES, failures - reportedFailures);
+        metrics.add(Metrics.NOTIFICATION_BATCHES, batches - reportedBatches);
+        reportedDeliveries = deliveries;
+        reportedFailures = failures;
+        reportedBatches = batches;
+    }
 
-            notifiedStudentsCounter += notify ? 1 : 0;
+    private NotificationDispatcher notificationDispatcher() {
+        if (notificationDispatcher == null) {
+            notificationDispatcher = new NotificationDispatcher(notificationSink, NotificationTemplate.DEFAULT,
+                    notificationBatchSize, maxNotificationsPerSecond, NOTIFICATION_QUEUE_CAPACITY,
+                    new DeliveryOutcomes(notificationSinkSpec.split(":")[0]));
         }
-        System.out.printf("Total %d students have been notified.%n", notifiedStudentsCounter);
+        return notificationDispatcher;
     }
 
-    private void printNotify(Student student, Course course) {
-        System.out.println("To: " + student.getEmail());
-        System.out.println("Re: Your Learning Progress");
-        System.out.printf("Hello, %s %s! You have accomplished our %s course!%n",
-                student.getName(), student.getLastName(), course);
+    // Delivered notifications are journaled, failed ones go back to the outbox for the next notify.
+    private class DeliveryOutcomes implements NotificationDispatcher.DeliveryListener {
+        private final String sinkName;
+
+        DeliveryOutcomes(String sinkName) {
+            this.sinkName = sinkName;
+        }
+
+        @Override
+        public void onDelivered(Notification notification, long latencyNanos) {
+            engine.confirmNotified(notification.getStudentId(), notification.getCourseName());
+            metrics.recordNotification(sinkName, latencyNanos);
+        }
+
+        @Override
+        public void onFailed(Notification notification, long latencyNanos) {
+            engine.retryNotification(notification.getStudentId(), notification.getCourseName());
+            metrics.recordNotification(sinkName, latencyNanos);
+        }
     }
 
     private String scanInput() {
-        return scanner.nextLine().trim();
+        try {
+            if (!script || linesRead % SCRIPT_COMMIT_LINES == 0) {
+                engine.commitJournal();
+            }
+        } catch (JournalException e) {
+            printJournalFailure(e);
+        }
+        if (!script) {
+            out.flush();
+        }
+        String line = input.nextLine().trim();
+        linesRead++;
+        return line;
+    }
+
+    private static class PointsImportResult {
+        long processedLines = 0;
+        long incorrectLines = 0;
+        long unknownStudentLines = 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package tracker;
+
+import tracker.courses.Course;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.student.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+// Per-course participants, completed tasks and points of a whole population, for when there are no
+// aggregates maintained along the way. A big population is split into spliterator chunks aggregated
+// on a fork/join pool, every chunk into its own primitive arrays, and the arrays are added up while
+// the tasks are joined. Small populations are aggregated sequentially.
+public class CoursesAggregation {
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private CoursesAggregation() {
+    }
+
+    public static CoursesAggregates aggregate(CourseCatalog catalog, Map<Integer, Student> studentsList) {
+        return aggregate(catalog, studentsList, ForkJoinPool.commonPool(), SEQUENTIAL_THRESHOLD);
+    }
+
+    public static CoursesAggregates aggregate(CourseCatalog catalog, Map<Integer, Student> studentsList,
+                                              ForkJoinPool pool, int sequentialThreshold) {
+        return aggregate(catalog, studentsList.size(), spliterator(studentsList), pool, sequentialThreshold);
+    }
+
+    // For students that are not in a map yet, like the ones of a snapshot being loaded.
+    public static CoursesAggregates aggregate(CourseCatalog catalog, Student[] students) {
+        return aggregate(catalog, students.length, Arrays.spliterator(students),
+                ForkJoinPool.commonPool(), SEQUENTIAL_THRESHOLD);
+    }
+
+    private static CoursesAggregates aggregate(CourseCatalog catalog, int studentsAmount,
+                                               Spliterator<Student> students, ForkJoinPool pool,
+                                               int sequentialThreshold) {
+        Partial total;
+        if (studentsAmount < sequentialThreshold || pool.getParallelism() == 1) {
+            total = new Partial(catalog.size());
+            students.forEachRemaining(total);
+        } else {
+            total = pool.invoke(new AggregationTask(catalog.size(), students, sequentialThreshold));
+        }
+        return total.toCoursesAggregates(catalog);
+    }
+
+    // The spliterators of ConcurrentSkipListMap views never split, so a navigable map is split by ID range.
+    private static Spliterator<Student> spliterator(Map<Integer, Student> studentsList) {
+        if (studentsList instanceof NavigableMap && !studentsList.isEmpty()) {
+            NavigableMap<Integer, Student> students = (NavigableMap<Integer, Student>) studentsList;
+            return new IdRangeSpliterator(students, students.firstKey(), students.lastKey() + 1L);
+        }
+        return studentsList.values().spliterator();
+    }
+
+    private static class AggregationTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final int coursesAmount;
+        private final Spliterator<Student> students;
+        private final int sequentialThreshold;
+
+        AggregationTask(int coursesAmount, Spliterator<Student> students, int sequentialThreshold) {
+            this.coursesAmount = coursesAmount;
+            this.students = students;
+            this.sequentialThreshold = sequentialThreshold;
+        }
+
+        // Forks off prefixes until the rest is small enough, aggregates the rest, then joins the prefixes.
+        @Override
+        protected Partial compute() {
+            List<AggregationTask> forked = new ArrayList<>();
+            Spliterator<Student> prefix;
+            while (students.estimateSize() > sequentialThreshold && (prefix = students.trySplit()) != null) {
+                AggregationTask task = new AggregationTask(coursesAmount, prefix, sequentialThreshold);
+                task.fork();
+                forked.add(task);
+            }
+
+            Partial partial = new Partial(coursesAmount);
+            students.forEachRemaining(partial);
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                partial.add(forked.get(i).join());
+            }
+            return partial;
+        }
+    }
+
+    private static class Partial implements Consumer<Student> {
+        private final int[] participantsAmounts;
+        private final long[] completedTasksAmounts;
+        private final long[] pointsSums;
+
+        Partial(int coursesAmount) {
+            participantsAmounts = new int[coursesAmount];
+            completedTasksAmounts = new long[coursesAmount];
+            pointsSums = new long[coursesAmount];
+        }
+
+        @Override
+        public void accept(Student student) {
+            for (int ordinal = 0; ordinal < participantsAmounts.length; ordinal++) {
+                Course course = student.getCourse(ordinal);
+                if (course != null && course.getPoints() != 0) {
+                    participantsAmounts[ordinal]++;
+                    completedTasksAmounts[ordinal] += course.getCompletedTasksAmount();
+                    pointsSums[ordinal] += course.getPoints();
+                }
+            }
+        }
+
+        void add(Partial other) {
+            for (int ordinal = 0; ordinal < participantsAmounts.length; ordinal++) {
+                participantsAmounts[ordinal] += other.participantsAmounts[ordinal];
+                completedTasksAmounts[ordinal] += other.completedTasksAmounts[ordinal];
+                pointsSums[ordinal] += other.pointsSums[ordinal];
+            }
+        }
+
+        CoursesAggregates toCoursesAggregates(CourseCatalog catalog) {
+            CoursesAggregates coursesAggregates = new CoursesAggregates(catalog);
+            for (int ordinal = 0; ordinal < participantsAmounts.length; ordinal++) {
+                coursesAggregates.recordCourse(ordinal, participantsAmounts[ordinal],
+                        (int) completedTasksAmounts[ordinal], pointsSums[ordinal]);
+            }
+            return coursesAggregates;
+        }
+    }
+
+    // Students with IDs in [from, to). IDs are nearly dense, so the width of the range is the size estimate.
+    private static class IdRangeSpliterator implements Spliterator<Student> {
+        private final NavigableMap<Integer, Student> students;
+        private long from;
+        private final long to;
+        private Iterator<Student> iterator;
+
+        IdRangeSpliterator(NavigableMap<Integer, Student> students, long from, long to) {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Student> action) {
+            if (iterator == null) {
+                iterator = range().iterator();
+            }
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Student> action) {
+            if (iterator == null) {
+                iterator = Collections.emptyIterator();
+                range().forEach(action);
+            } else {
+                iterator.forEachRemaining(action);
+            }
+        }
+
+        private Iterable<Student> range() {
+            return students.subMap((int) from, true, (int) (to - 1), true).values();
+        }
+
+        @Override
+        public Spliterator<Student> trySplit() {
+            if (iterator != null || to - from < 2) {
+                return null;
+            }
+            long middle = from + (to - from) / 2;
+            Spliterator<Student> prefix = new IdRangeSpliterator(students, from, middle);
+            from = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return iterator == null ? to - from : 0;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL;
+        }
+    }
+}
@@ -1,172 +1,189 @@
 package tracker;
 
 import tracker.courses.Course;
+import tracker.courses.CourseActivity;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.output.ReportFormatter;
 import tracker.student.Student;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.*;
+import java.util.function.IntToDoubleFunction;
 
 public class CoursesStatistics {
+    public static final String PARTICIPANTS_HEADER =
+            String.format("%-10.10s %-8.8s %-10.10s", "id ", "points ", "completed");
 
     private CoursesStatistics() {
     }
 
     public static String getCourseParticipantsAndTheirStats(Map<Integer, Student> studentsList, String courseName) {
-        if (!App.allCoursesNames.contains(courseName)) {
+        int ordinal = catalogOf(studentsList).ordinalOf(courseName);
+        if (ordinal < 0) {
             return "Unknown course.";
         }
 
-        List<Student> sortedStudents = getCourseStudentsAndSortByCompletionProgress(studentsList, courseName);
+        List<Student> sortedStudents = getCourseStudentsAndSortByCompletionProgress(studentsList, ordinal);
 
-        StringBuilder sb = new StringBuilder().append(courseName).append(System.lineSeparator());
-        sb.append(String.format("%-10.10s %-8.8s %-10.10s", "id ", "points ", "completed"))
-                .append(System.lineSeparator());
+        ReportFormatter report = new ReportFormatter().append(courseName).newLine()
+                .append(PARTICIPANTS_HEADER).newLine();
 
         for (Student student : sortedStudents) {
-            Course course = student.getCourses().get(courseName);
-            int points = course.getPoints();
-            double completedPercent = getCompletedPercent(course, points);
-            sb.append(String.format("%-10.10s ", student.getID()))
-                    .append(String.format("%-8.8s ", points))
-                    .append(String.format("%-10.10s", completedPercent + "%"))
-                    .append(System.lineSeparator());
+            Course course = student.getCourse(ordinal);
+            appendParticipantStats(report, student.getID(), course.getPoints(), course.MAX_POINTS);
         }
-        return sb.toString();
+        return report.toString();
+    }
+
+    public static String getCourseParticipantsAndTheirStats(StatisticsSource statisticsSource, String courseName,
+                                                            int offset, int limit) {
+        int ordinal = statisticsSource.getCatalog().ordinalOf(courseName);
+        if (ordinal < 0) {
+            return "Unknown course.";
+        }
+
+        ReportFormatter report = new ReportFormatter().append(courseName).newLine()
+                .append(PARTICIPANTS_HEADER).newLine();
+
+        appendParticipantsStats(report, statisticsSource, ordinal, offset, limit);
+        return report.toString();
+    }
+
+    // Appends up to limit rows of the report without its header and returns how many were appended.
+    public static int appendParticipantsStats(ReportFormatter report, StatisticsSource statisticsSource,
+                                              int ordinal, int offset, int limit) {
+        int maxPoints = statisticsSource.getCatalog().getMaxPoints(ordinal);
+        return statisticsSource.forEachParticipant(ordinal, offset, limit, (studentId, points) ->
+                appendParticipantStats(report, studentId, points, maxPoints));
+    }
+
+    // Same as "%-10.10s %-8.8s %-10.10s" of the ID, the points and the percent.
+    private static void appendParticipantStats(ReportFormatter report, int studentId, int points, int maxPoints) {
+        report.column(studentId, 10).append(' ')
+                .column(points, 8).append(' ')
+                .percentColumn(points, maxPoints, 10)
+                .newLine();
     }
 
     private static List<Student> getCourseStudentsAndSortByCompletionProgress(Map<Integer,
-            Student> studentsList, String courseName) {
+            Student> studentsList, int ordinal) {
         List<Student> courseStudentsList = new ArrayList<>();
 
         for (Student student : studentsList.values()) {
-            Map<String, Course> studentCourses = student.getCourses();
-            if (studentCourses.containsKey(courseName) && studentCourses.get(courseName).getPoints() > 0) {
+            Course course = student.getCourse(ordinal);
+            if (course != null && course.getPoints() > 0) {
                 courseStudentsList.add(student);
             }
         }
         courseStudentsList.sort(Comparator.comparingInt((Student student) ->
-                        student.getCourses().get(courseName).getPoints())
+                        student.getCourse(ordinal).getPoints())
                 .reversed());
 
         return courseStudentsList;
     }
 
-    private static double getCompletedPercent(Course course, int points) {
-        return BigDecimal.valueOf((double) points / course.MAX_POINTS * 100)
-                .setScale(1, RoundingMode.HALF_UP)
-                .doubleValue();
+    public static Set<String> getMostPopularCoursesNames(Map<Integer, Student> studentsList) {
+        return getMostPopularCoursesNames(aggregate(studentsList));
     }
 
-    public static Set<String> getMostPopularCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = getCoursesNamesAndTheirParticipantsAmount(studentsList);
-        return getKeysWithMaxValues(pairs);
+    public static Set<String> getMostPopularCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMaxValues(coursesAggregates.getCatalog(), coursesAggregates::getParticipantsAmount);
     }
 
-    private static Map<String, Integer> getCoursesNamesAndTheirParticipantsAmount
-            (Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = new HashMap<>();
-        for (Student student : studentsList.values()) {
-            for (Course course : student.getCourses().values()) {
-                if (course.getPoints() != 0) {
-                    pairs.merge(course.NAME, 1, Integer::sum);
-                }
-            }
-        }
-        return pairs;
+    private static CoursesAggregates aggregate(Map<Integer, Student> studentsList) {
+        return CoursesAggregation.aggregate(catalogOf(studentsList), studentsList);
+    }
+
+    // Students of one tracker share its catalog.
+    private static CourseCatalog catalogOf(Map<Integer, Student> studentsList) {
+        Iterator<Student> students = studentsList.values().iterator();
+        return students.hasNext() ? students.next().getCatalog() : CourseCatalog.DEFAULT;
     }
 
-    private static <V extends Number> Set<String> getKeysWithMaxValues(Map<String, V> pairs) {
+    // A course with a zero value has no participants and takes no part in the comparison.
+    private static Set<String> getNamesWithMaxValues(CourseCatalog catalog, IntToDoubleFunction values) {
         Set<String> maxNames = new HashSet<>();
         double max = -1;
 
-        for (Map.Entry<String, V> pair : pairs.entrySet()) {
-            double value = pair.getValue().doubleValue();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            double value = values.applyAsDouble(ordinal);
+            if (value == 0) {
+                continue;
+            }
             if (value > max) {
                 maxNames = new HashSet<>();
-                maxNames.add(pair.getKey());
+                maxNames.add(catalog.getName(ordinal));
                 max = value;
             } else if (value == max) {
-                maxNames.add(pair.getKey());
+                maxNames.add(catalog.getName(ordinal));
             }
         }
         return maxNames;
     }
 
     public static Set<String> getLeastPopularCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = getCoursesNamesAndTheirParticipantsAmount(studentsList);
-        return getKeysWithMinValues(pairs);
+        return getLeastPopularCoursesNames(aggregate(studentsList));
     }
 
-    private static <V extends Number> Set<String> getKeysWithMinValues(Map<String, V> pairs) {
+    public static Set<String> getLeastPopularCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMinValues(coursesAggregates.getCatalog(), coursesAggregates::getParticipantsAmount);
+    }
+
+    private static Set<String> getNamesWithMinValues(CourseCatalog catalog, IntToDoubleFunction values) {
         Set<String> minNames = new HashSet<>();
         double min = Integer.MAX_VALUE;
 
-        for (Map.Entry<String, V> pair : pairs.entrySet()) {
-            double value = pair.getValue().doubleValue();
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            double value = values.applyAsDouble(ordinal);
+            if (value == 0) {
+                continue;
+            }
             if (value < min) {
                 minNames = new HashSet<>();
-                minNames.add(pair.getKey());
+                minNames.add(catalog.getName(ordinal));
                 min = value;
             } else if (value == min) {
-                minNames.add(pair.getKey());
+                minNames.add(catalog.getName(ordinal));
             }
         }
         return minNames;
     }
 
     public static Set<String> getHighestActivityCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = getCoursesNamesAndTheirCompletedTaskAmount(studentsList);
-        return getKeysWithMaxValues(pairs);
+        return getHighestActivityCoursesNames(aggregate(studentsList));
     }
 
-    private static Map<String, Integer> getCoursesNamesAndTheirCompletedTaskAmount
-            (Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = new HashMap<>();
-        for (Student student : studentsList.values()) {
-            for (Course course : student.getCourses().values()) {
-                if (course.getCompletedTasksAmount() != 0) {
-                    pairs.merge(course.NAME, course.getCompletedTasksAmount(), Integer::sum);
-                }
-            }
-        }
-        return pairs;
+    public static Set<String> getHighestActivityCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMaxValues(coursesAggregates.getCatalog(), coursesAggregates::getCompletedTasksAmount);
     }
 
-    public static Set<String> getLowestActivityCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Integer> pairs = getCoursesNamesAndTheirCompletedTaskAmount(studentsList);
-        return getKeysWithMinValues(pairs);
+    public static Set<String> getHighestActivityCoursesNames(CourseActivity courseActivity,
+                                                             CourseActivity.Window window) {
+        return getNamesWithMaxValues(courseActivity.getCatalog(),
+                ordinal -> courseActivity.getTasksAmount(ordinal, window));
     }
 
-    public static Set<String> getEasiestCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Double> coursesAndTheirAveragePts = getCoursesAveragePts(studentsList);
-        return getKeysWithMaxValues(coursesAndTheirAveragePts);
+    public static Set<String> getLowestActivityCoursesNames(Map<Integer, Student> studentsList) {
+        return getLowestActivityCoursesNames(aggregate(studentsList));
+    }
 
+    public static Set<String> getLowestActivityCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMinValues(coursesAggregates.getCatalog(), coursesAggregates::getCompletedTasksAmount);
     }
 
-    private static Map<String, Double> getCoursesAveragePts(Map<Integer, Student> studentsList) {
-        Map<String, Double> coursesAndTheirAveragePoints = new HashMap<>(App.allCoursesNames.size());
+    public static Set<String> getEasiestCoursesNames(Map<Integer, Student> studentsList) {
+        return getEasiestCoursesNames(aggregate(studentsList));
+    }
 
-        for (String courseName : App.allCoursesNames) {
-            long pointsSum = 0;
-            int studentsAmount = 0;
-            for (Student student : studentsList.values()) {
-                if (student.getCourses().containsKey(courseName)
-                        && student.getCourses().get(courseName).getPoints() > 0) {
-                    studentsAmount++;
-                    pointsSum += student.getCourses().get(courseName).getPoints();
-                }
-            }
-            double averagePoints = studentsAmount == 0 ? 0 : (double) pointsSum / studentsAmount;
-            if (averagePoints != 0) {
-                coursesAndTheirAveragePoints.put(courseName, averagePoints);
-            }
-        }
-        return coursesAndTheirAveragePoints;
+    public static Set<String> getEasiestCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMaxValues(coursesAggregates.getCatalog(), coursesAggregates::getAveragePoints);
     }
 
     public static Set<String> getHardestCoursesNames(Map<Integer, Student> studentsList) {
-        Map<String, Double> coursesAndTheirAveragePts = getCoursesAveragePts(studentsList);
-        return getKeysWithMinValues(coursesAndTheirAveragePts);
+        return getHardestCoursesNames(aggregate(studentsList));
+    }
+
+    public static Set<String> getHardestCoursesNames(CoursesAggregates coursesAggregates) {
+        return getNamesWithMinValues(coursesAggregates.getCatalog(), coursesAggregates::getAveragePoints);
     }
 }
\ No newline at end of file
@@ -1,8 +1,189 @@
 package tracker;
 
+import tracker.courses.CourseCatalog;
+import tracker.engine.StatisticsCache;
+import tracker.engine.TrackerEngine;
+import tracker.journal.DurabilityMode;
+import tracker.student.IdAllocator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
 public class Main {
+    private static final String USAGE = "Usage: tracker [--courses <file>] [--id-mark <file>] [--snapshot <file>]"
+            + " [--journal <file>] [--durability none|batch|sync] [--listen <port>]"
+            + " [--notify-sink console|maildir:<directory>|smtp:<host>:<port>] [--notify-batch <n>]"
+            + " [--notify-rate <n>] [--metrics-file <file>] [--metrics-period <seconds>]"
+            + " [--statistics-cache <chars>] [--script <file>|-]";
 
     public static void main(String[] args) {
-        new App().init();
+        String courses = null;
+        String idMark = null;
+        int port = -1;
+        String metricsFile = null;
+        int metricsPeriodSeconds = 60;
+        String snapshot = null;
+        String journal = null;
+        DurabilityMode durabilityMode = DurabilityMode.BATCH;
+        String notificationSink = "console";
+        int notificationBatchSize = 64;
+        int maxNotificationsPerSecond = 0;
+        long statisticsCacheMaxChars = StatisticsCache.DEFAULT_MAX_CHARS;
+        String script = null;
+        for (int i = 0; i < args.length; i += 2) {
+            String option = args[i];
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            try {
+                switch (option) {
+                    case "--courses":
+                        courses = requireValue(value);
+                        break;
+                    case "--listen":
+                        port = Integer.parseInt(requireValue(value));
+                        break;
+                    case "--metrics-file":
+                        metricsFile = requireValue(value);
+                        break;
+                    case "--metrics-period":
+                        metricsPeriodSeconds = Integer.parseInt(requireValue(value));
+                        break;
+                    case "--id-mark":
+                        idMark = requireValue(value);
+                        break;
+                    case "--snapshot":
+                        snapshot = requireValue(value);
+                        break;
+                    case "--journal":
+                        journal = requireValue(value);
+                        break;
+                    case "--durability":
+                        durabilityMode = DurabilityMode.valueOf(requireValue(value).toUpperCase(Locale.ROOT));
+                        break;
+                    case "--notify-sink":
+                        notificationSink = requireValue(value);
+                        break;
+                    case "--notify-batch":
+                        notificationBatchSize = Integer.parseInt(requireValue(value));
+                        break;
+                    case "--notify-rate":
+                        maxNotificationsPerSecond = Integer.parseInt(requireValue(value));
+                        break;
+                    case "--statistics-cache":
+                        statisticsCacheMaxChars = Long.parseLong(requireValue(value));
+                        break;
+                    case "--script":
+                        script = requireValue(value);
+                        break;
+                    default:
+                        printUsage("Unknown option " + option);
+                        return;
+                }
+            } catch (IllegalArgumentException e) {
+                // Thrown by requireValue when the option is the last argument, or by parsing the value.
+                printUsage(value == null
+                        ? "Missing value for " + option
+                        : "Incorrect value " + value + " for " + option);
+                return;
+            }
+        }
+
+        CourseCatalog catalog = CourseCatalog.DEFAULT;
+        if (courses != null) {
+            try {
+                catalog = CourseCatalog.load(Path.of(courses));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Cannot read courses " + courses + ": " + e.getMessage());
+                return;
+            }
+        }
+
+        App app;
+        try {
+            IdAllocator idAllocator = idMark == null
+                    ? new IdAllocator()
+                    : new IdAllocator(IdAllocator.DEFAULT_BLOCK_SIZE, Path.of(idMark));
+            app = new App(new TrackerEngine(catalog, idAllocator, statisticsCacheMaxChars));
+        } catch (IOException e) {
+            System.err.println("Cannot read student ID mark " + idMark + ": " + e.getMessage());
+            return;
+        }
+
+        // Whatever ends the run, the journal is closed and everything it buffered is written.
+        try (app) {
+            try {
+                app.configureNotifications(notificationSink, notificationBatchSize, maxNotificationsPerSecond);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Cannot configure notifications: " + e.getMessage());
+                return;
+            }
+
+            if (snapshot != null) {
+                try {
+                    app.loadSnapshot(Path.of(snapshot));
+                } catch (IOException e) {
+                    System.err.println("Cannot load snapshot " + snapshot + ": " + e.getMessage());
+                    return;
+                }
+            }
+
+            if (journal != null) {
+                try {
+                    app.openJournal(Path.of(journal), durabilityMode);
+                } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+                    System.err.println("Cannot open journal " + journal + ": " + e.getMessage());
+                    return;
+                }
+            }
+
+            if (metricsFile != null) {
+                try {
+                    app.dumpMetrics(Path.of(metricsFile), metricsPeriodSeconds);
+                } catch (IOException | IllegalArgumentException e) {
+                    System.err.println("Cannot dump metrics to " + metricsFile + ": " + e.getMessage());
+                    return;
+                }
+            }
+
+            if (port >= 0) {
+                try {
+                    System.err.println("Listening on port " + app.startServer(port));
+                } catch (IOException e) {
+                    System.err.println("Cannot listen on port " + port + ": " + e.getMessage());
+                    return;
+                }
+            }
+
+            if (script == null) {
+                app.init();
+                return;
+            }
+
+            // "-" runs the script piped to the standard input.
+            long startTime = System.nanoTime();
+            try (InputStream in = script.equals("-") ? System.in : Files.newInputStream(Path.of(script))) {
+                app.runScript(in);
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Cannot read script " + script + ": " + e.getMessage());
+                return;
+            }
+            System.err.printf("Processed %d commands in %d ms%n",
+                    app.getLinesRead(), (System.nanoTime() - startTime) / 1_000_000);
+        }
+    }
+
+    private static String requireValue(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException();
+        }
+        return value;
+    }
+
+    private static void printUsage(String error) {
+        System.err.println(error);
+        System.err.println(USAGE);
     }
-}
\ No newline at end of file
+}
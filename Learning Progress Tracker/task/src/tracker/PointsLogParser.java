@@ -0,0 +1,86 @@
+package tracker;
+
+import java.util.List;
+
+class PointsLogParser {
+
+    private PointsLogParser() {
+    }
+
+    static ParsedChunk parse(List<String> lines, int coursesAmount) {
+        ParsedChunk chunk = new ParsedChunk(lines.size(), 1 + coursesAmount);
+        for (String line : lines) {
+            if (parseLine(line, chunk.values, chunk.parsedLines * chunk.fieldsPerLine, chunk.fieldsPerLine)) {
+                chunk.parsedLines++;
+            } else {
+                chunk.incorrectLines++;
+            }
+        }
+        return chunk;
+    }
+
+    // Accepts exactly "id p1 ... pN", one value per course separated by single spaces, like the interactive
+    // 'add points' session does, without splitting the line or throwing on bad numbers.
+    private static boolean parseLine(String line, int[] values, int offset, int fieldsPerLine) {
+        int position = 0;
+        for (int field = 0; field < fieldsPerLine; field++) {
+            if (field > 0) {
+                if (position >= line.length() || line.charAt(position) != ' ') {
+                    return false;
+                }
+                position++;
+            }
+
+            int end = line.indexOf(' ', position);
+            if (end < 0) {
+                end = line.length();
+            }
+
+            long value = parseInteger(line, position, end);
+            if (value == Long.MIN_VALUE || field > 0 && value < 0) {
+                return false;
+            }
+            values[offset + field] = (int) value;
+            position = end;
+        }
+        return position == line.length();
+    }
+
+    private static long parseInteger(String line, int start, int end) {
+        boolean negative = false;
+        if (start < end && (line.charAt(start) == '-' || line.charAt(start) == '+')) {
+            negative = line.charAt(start) == '-';
+            start++;
+        }
+        if (start == end) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    static class ParsedChunk {
+        final int fieldsPerLine;
+        final int[] values;
+        int parsedLines = 0;
+        int incorrectLines = 0;
+
+        ParsedChunk(int lines, int fieldsPerLine) {
+            this.fieldsPerLine = fieldsPerLine;
+            values = new int[lines * fieldsPerLine];
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package tracker;
+
+import tracker.courses.CourseCatalog;
+import tracker.courses.CourseLeaderboard;
+import tracker.courses.CourseProgressListener;
+import tracker.courses.CoursesAggregates;
+import tracker.student.Student;
+
+// What course statistics are read from. Live updates arrive as a progress listener of every student;
+// reads must not overlap with updates, the engine runs them under its statistics lock.
+public interface StatisticsSource extends CourseProgressListener {
+
+    CourseCatalog getCatalog();
+
+    // Adds students restored from a snapshot, whose courses never reported their points.
+    void recordStudents(Student[] students);
+
+    // A copy, so the caller may keep it while updates go on.
+    CoursesAggregates getCoursesAggregates();
+
+    // Visits participants of the course in descending points order, ties by ID, skipping the first offset
+    // of them. Returns the number of visited participants.
+    int forEachParticipant(int ordinal, int offset, int limit, CourseLeaderboard.ParticipantVisitor visitor);
+}
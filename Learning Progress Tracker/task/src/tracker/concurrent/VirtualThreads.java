@@ -0,0 +1,27 @@
+package tracker.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The tracker is built against Java 17, which has no Executors.newVirtualThreadPerTaskExecutor; that method
+// only exists from Java 21 on, so it is looked up reflectively and used when the tracker runs on such a JVM.
+// On an older JVM the same executor contract is served by cached daemon platform threads.
+public class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static ExecutorService newThreadPerTaskExecutor(String fallbackThreadName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadsCounter = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, fallbackThreadName + "-" + threadsCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package tracker.courses;
 
-public abstract class Course {
+public final class Course {
+    public final int ORDINAL;
     public final String NAME;
     public final int MAX_POINTS;
 
@@ -9,7 +10,9 @@ public abstract class Course {
     boolean finished = false;
     boolean notified = false;
 
-    Course(String name, int maxPoints, int points) {
+    // Created through CourseCatalog.newCourse.
+    Course(int ordinal, String name, int maxPoints, int points) {
+        this.ORDINAL = ordinal;
         this.NAME = name;
         this.MAX_POINTS = maxPoints;
         this.points = points;
@@ -53,6 +56,13 @@ public abstract class Course {
         this.notified = notified;
     }
 
+    // Restores progress saved by an earlier run without counting it as new activity.
+    public void restoreProgress(int completedTasksAmount, boolean finished, boolean notified) {
+        this.completedTasksAmount = completedTasksAmount;
+        this.finished = finished;
+        this.notified = notified;
+    }
+
     @Override
     public String toString() {
         return NAME;
@@ -0,0 +1,113 @@
+package tracker.courses;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Completed tasks per course in the last hour, day and week. Every course has a ring of per-minute
+// and a ring of per-hour buckets; a bucket packs the minute or hour it counts with its count, so a stale
+// bucket is recognized and restarted by the next event that lands on it. Recording is one CAS per ring
+// and memory does not grow however long the tracker runs. The hour is exact to the minute, the day and
+// the week to the hour.
+public class CourseActivity {
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int HOURS_PER_WEEK = 7 * HOURS_PER_DAY;
+
+    public enum Window {
+        LAST_HOUR("last hour"), LAST_DAY("last day"), LAST_WEEK("last week");
+
+        private final String label;
+
+        Window(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final CourseCatalog catalog;
+    private final LongSupplier clock;
+    private final Ring[] minutes;
+    private final Ring[] hours;
+
+    public CourseActivity(CourseCatalog catalog) {
+        this(catalog, System::currentTimeMillis);
+    }
+
+    public CourseActivity(CourseCatalog catalog, LongSupplier clock) {
+        this.catalog = catalog;
+        this.clock = clock;
+        this.minutes = new Ring[catalog.size()];
+        this.hours = new Ring[catalog.size()];
+        for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+            minutes[ordinal] = new Ring(MINUTES_PER_HOUR, TimeUnit.MINUTES.toMillis(1));
+            hours[ordinal] = new Ring(HOURS_PER_WEEK, TimeUnit.HOURS.toMillis(1));
+        }
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    public long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    public void record(int ordinal, long timeMillis) {
+        minutes[ordinal].record(timeMillis);
+        hours[ordinal].record(timeMillis);
+    }
+
+    public long getTasksAmount(int ordinal, Window window) {
+        long now = clock.getAsLong();
+        switch (window) {
+            case LAST_HOUR:
+                return minutes[ordinal].sum(now, MINUTES_PER_HOUR);
+            case LAST_DAY:
+                return hours[ordinal].sum(now, HOURS_PER_DAY);
+            default:
+                return hours[ordinal].sum(now, HOURS_PER_WEEK);
+        }
+    }
+
+    // A bucket holds [int unit][int count], where unit is the minute or hour since the epoch.
+    private static class Ring {
+        private final AtomicLongArray buckets;
+        private final long unitMillis;
+
+        Ring(int length, long unitMillis) {
+            this.buckets = new AtomicLongArray(length);
+            this.unitMillis = unitMillis;
+        }
+
+        void record(long timeMillis) {
+            long unit = timeMillis / unitMillis;
+            int index = (int) (unit % buckets.length());
+            while (true) {
+                long bucket = buckets.get(index);
+                // An event older than the bucket, after the clock went back, still counts in the newer unit.
+                long updated = bucket >>> 32 >= unit ? bucket + 1 : unit << 32 | 1;
+                if (buckets.compareAndSet(index, bucket, updated)) {
+                    return;
+                }
+            }
+        }
+
+        long sum(long nowMillis, int units) {
+            long now = nowMillis / unitMillis;
+            long sum = 0;
+            for (int index = 0; index < buckets.length(); index++) {
+                long bucket = buckets.get(index);
+                long unit = bucket >>> 32;
+                if (unit > now - units && unit <= now) {
+                    sum += bucket & 0xFFFFFFFFL;
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package tracker.courses;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The courses a tracker knows, each with a dense ordinal in definition order. Progress and statistics
+// are kept in arrays indexed by ordinal; a course name is only looked up where it comes in as text.
+public class CourseCatalog {
+    // A journal record stores the number of courses in one byte.
+    public static final int MAX_COURSES = Byte.MAX_VALUE;
+    // Every course leaderboard keeps one bucket per score up to the maximum.
+    public static final int MAX_POINTS = 100_000;
+
+    public static final CourseCatalog DEFAULT = new CourseCatalog(
+            new String[]{"Java", "DSA", "Databases", "Spring"}, new int[]{600, 400, 480, 550});
+
+    private final String[] names;
+    private final int[] maxPoints;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    public CourseCatalog(String[] names, int[] maxPoints) {
+        if (names.length == 0 || names.length > MAX_COURSES || names.length != maxPoints.length) {
+            throw new IllegalArgumentException("Incorrect number of courses");
+        }
+        this.names = names.clone();
+        this.maxPoints = maxPoints.clone();
+
+        for (int ordinal = 0; ordinal < this.names.length; ordinal++) {
+            String name = this.names[ordinal];
+            if (name == null || name.isBlank() || !name.equals(name.trim())) {
+                throw new IllegalArgumentException("Incorrect course name " + name);
+            }
+            if (this.maxPoints[ordinal] < 1 || this.maxPoints[ordinal] > MAX_POINTS) {
+                throw new IllegalArgumentException("Incorrect max points of course " + name
+                        + ", expected 1 to " + MAX_POINTS);
+            }
+            if (ordinals.putIfAbsent(name, ordinal) != null) {
+                throw new IllegalArgumentException("Duplicate course " + name);
+            }
+        }
+    }
+
+    // One "name=maxPoints" line per course, in ordinal order; blank lines and lines starting with # are skipped.
+    // Courses may be added at the end later on, but existing ones must keep their place, since snapshots
+    // store progress by ordinal.
+    public static CourseCatalog load(Path file) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<Integer> maxPoints = new ArrayList<>();
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            int separator = line.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Incorrect course definition " + line);
+            }
+            names.add(line.substring(0, separator).trim());
+            try {
+                maxPoints.add(Integer.parseInt(line.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Incorrect course definition " + line);
+            }
+        }
+
+        return new CourseCatalog(names.toArray(new String[0]),
+                maxPoints.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int ordinal) {
+        return names[ordinal];
+    }
+
+    public int getMaxPoints(int ordinal) {
+        return maxPoints[ordinal];
+    }
+
+    // Returns -1 for an unknown course.
+    public int ordinalOf(String name) {
+        Integer ordinal = ordinals.get(name);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public boolean contains(String name) {
+        return ordinals.containsKey(name);
+    }
+
+    // Names in ordinal order.
+    public List<String> getNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public Course newCourse(int ordinal, int points) {
+        return new Course(ordinal, names[ordinal], maxPoints[ordinal], points);
+    }
+}
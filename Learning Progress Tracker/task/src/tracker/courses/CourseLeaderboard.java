@@ -0,0 +1,145 @@
+package tracker.courses;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Participants of one course bucketed by points, so a report sorted by points (ties by ID)
+// is emitted without sorting the whole course. Points above MAX_POINTS are rare and kept in a sorted map.
+// Every bucket is guarded by its own lock, so students of one course moving between different scores
+// do not wait for each other; the overflow buckets share the lock of their map. A read locks each bucket
+// it visits, because a move shifts the IDs of the bucket it enters or leaves. A move leaves one bucket before it
+// enters the other, so a read that needs a consistent page must exclude moves on its own, as the
+// engine does with its statistics lock.
+public class CourseLeaderboard {
+    private final int maxPoints;
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final TreeMap<Integer, Bucket> overflowBuckets = new TreeMap<>();
+    private final AtomicInteger participantsAmount = new AtomicInteger();
+
+    CourseLeaderboard(int maxPoints) {
+        this.maxPoints = maxPoints;
+        this.buckets = new AtomicReferenceArray<>(maxPoints + 1);
+    }
+
+    public int getParticipantsAmount() {
+        return participantsAmount.get();
+    }
+
+    // The caller serializes the moves of one student, so a course is moved by one thread at a time.
+    void move(int studentId, int previousPoints, int points) {
+        if (previousPoints > 0) {
+            if (previousPoints > maxPoints) {
+                synchronized (overflowBuckets) {
+                    Bucket previousBucket = overflowBuckets.get(previousPoints);
+                    previousBucket.remove(studentId);
+                    if (previousBucket.size == 0) {
+                        overflowBuckets.remove(previousPoints);
+                    }
+                }
+            } else {
+                Bucket previousBucket = buckets.get(previousPoints);
+                synchronized (previousBucket) {
+                    previousBucket.remove(studentId);
+                }
+            }
+            participantsAmount.decrementAndGet();
+        }
+        if (points > 0) {
+            if (points > maxPoints) {
+                synchronized (overflowBuckets) {
+                    overflowBuckets.computeIfAbsent(points, key -> new Bucket()).add(studentId);
+                }
+            } else {
+                Bucket bucket = bucket(points);
+                synchronized (bucket) {
+                    bucket.add(studentId);
+                }
+            }
+            participantsAmount.incrementAndGet();
+        }
+    }
+
+    private Bucket bucket(int points) {
+        Bucket bucket = buckets.get(points);
+        if (bucket == null) {
+            buckets.compareAndSet(points, null, new Bucket());
+            bucket = buckets.get(points);
+        }
+        return bucket;
+    }
+
+    // Visits participants in descending points order, skipping the first offset of them.
+    // Returns the number of visited participants.
+    public int forEach(int offset, int limit, ParticipantVisitor visitor) {
+        int toSkip = offset;
+        int toVisit = limit;
+
+        synchronized (overflowBuckets) {
+            for (Map.Entry<Integer, Bucket> entry : overflowBuckets.descendingMap().entrySet()) {
+                if (toVisit == 0) {
+                    return limit;
+                }
+                int visited = entry.getValue().forEach(entry.getKey(), toSkip, toVisit, visitor);
+                toSkip = Math.max(0, toSkip - entry.getValue().size);
+                toVisit -= visited;
+            }
+        }
+
+        for (int points = maxPoints; points > 0 && toVisit > 0; points--) {
+            Bucket bucket = buckets.get(points);
+            if (bucket == null) {
+                continue;
+            }
+            synchronized (bucket) {
+                if (bucket.size == 0) {
+                    continue;
+                }
+                int visited = bucket.forEach(points, toSkip, toVisit, visitor);
+                toSkip = Math.max(0, toSkip - bucket.size);
+                toVisit -= visited;
+            }
+        }
+        return limit - toVisit;
+    }
+
+    public interface ParticipantVisitor {
+        void visit(int studentId, int points);
+    }
+
+    // Keeps its IDs sorted, so a read starts at the first row it needs and stops after the last one.
+    // A move shifts the IDs after the one it inserts or removes, which is a single array copy.
+    private static class Bucket {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            int position = size;
+            if (size > 0 && ids[size - 1] > id) {
+                position = -Arrays.binarySearch(ids, 0, size, id) - 1;
+                System.arraycopy(ids, position, ids, position + 1, size - position);
+            }
+            ids[position] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        int forEach(int points, int toSkip, int toVisit, ParticipantVisitor visitor) {
+            int end = Math.min(size, toSkip + toVisit);
+            for (int i = toSkip; i < end; i++) {
+                visitor.visit(ids[i], points);
+            }
+            return Math.max(0, end - toSkip);
+        }
+    }
+}
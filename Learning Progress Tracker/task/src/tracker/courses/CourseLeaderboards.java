@@ -0,0 +1,40 @@
+package tracker.courses;
+
+public class CourseLeaderboards implements CourseProgressListener {
+
+    private final CourseCatalog catalog;
+    private final CourseLeaderboard[] leaderboards;
+
+    public CourseLeaderboards() {
+        this(CourseCatalog.DEFAULT);
+    }
+
+    public CourseLeaderboards(CourseCatalog catalog) {
+        this.catalog = catalog;
+        this.leaderboards = new CourseLeaderboard[catalog.size()];
+        for (int ordinal = 0; ordinal < leaderboards.length; ordinal++) {
+            leaderboards[ordinal] = new CourseLeaderboard(catalog.getMaxPoints(ordinal));
+        }
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Override
+    public void onPointsAdded(int studentId, Course course, int previousPoints) {
+        leaderboards[course.ORDINAL].move(studentId, previousPoints, course.getPoints());
+    }
+
+    public void recordCourse(int studentId, Course course) {
+        if (course.getPoints() == 0) {
+            return;
+        }
+
+        leaderboards[course.ORDINAL].move(studentId, 0, course.getPoints());
+    }
+
+    public CourseLeaderboard get(int ordinal) {
+        return leaderboards[ordinal];
+    }
+}
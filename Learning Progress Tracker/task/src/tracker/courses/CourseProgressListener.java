@@ -0,0 +1,7 @@
+package tracker.courses;
+
+public interface CourseProgressListener {
+
+    // Called after a student's points in the course have changed from previousPoints to course.getPoints().
+    void onPointsAdded(int studentId, Course course, int previousPoints);
+}
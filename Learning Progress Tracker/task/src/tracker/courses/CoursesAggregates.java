@@ -0,0 +1,122 @@
+package tracker.courses;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Safe to update from many threads; the counters of one course are only mutually consistent
+// when read while no update is in progress.
+public class CoursesAggregates implements CourseProgressListener {
+
+    private final CourseCatalog catalog;
+    private final CourseAggregate[] aggregates;
+
+    public CoursesAggregates() {
+        this(CourseCatalog.DEFAULT);
+    }
+
+    public CoursesAggregates(CourseCatalog catalog) {
+        this.catalog = catalog;
+        this.aggregates = new CourseAggregate[catalog.size()];
+        for (int ordinal = 0; ordinal < aggregates.length; ordinal++) {
+            aggregates[ordinal] = new CourseAggregate();
+        }
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Override
+    public void onPointsAdded(int studentId, Course course, int previousPoints) {
+        CourseAggregate aggregate = aggregates[course.ORDINAL];
+        if (previousPoints == 0) {
+            aggregate.participantsAmount.increment();
+        }
+        aggregate.completedTasksAmount.increment();
+        aggregate.pointsSum.add(course.getPoints() - previousPoints);
+    }
+
+    public void recordCourse(int ordinal, int participantsAmount, int completedTasksAmount, long pointsSum) {
+        if (participantsAmount == 0) {
+            return;
+        }
+
+        CourseAggregate aggregate = aggregates[ordinal];
+        aggregate.participantsAmount.add(participantsAmount);
+        aggregate.completedTasksAmount.add(completedTasksAmount);
+        aggregate.pointsSum.add(pointsSum);
+    }
+
+    public CoursesAggregates copy() {
+        CoursesAggregates copy = new CoursesAggregates(catalog);
+        copy.add(this);
+        return copy;
+    }
+
+    // Adds the aggregates of other students of the same catalog.
+    public void add(CoursesAggregates other) {
+        for (int ordinal = 0; ordinal < aggregates.length; ordinal++) {
+            CourseAggregate aggregate = other.aggregates[ordinal];
+            recordCourse(ordinal, aggregate.participantsAmount.intValue(),
+                    aggregate.completedTasksAmount.intValue(), aggregate.pointsSum.sum());
+        }
+    }
+
+    public int getParticipantsAmount(int ordinal) {
+        return aggregates[ordinal].participantsAmount.intValue();
+    }
+
+    public int getCompletedTasksAmount(int ordinal) {
+        return aggregates[ordinal].completedTasksAmount.intValue();
+    }
+
+    public double getAveragePoints(int ordinal) {
+        return aggregates[ordinal].getAveragePoints();
+    }
+
+    // Courses nobody has earned points in are left out of the maps below.
+    public Map<String, Integer> getParticipantsAmounts() {
+        Map<String, Integer> pairs = new HashMap<>();
+        for (int ordinal = 0; ordinal < aggregates.length; ordinal++) {
+            int participantsAmount = getParticipantsAmount(ordinal);
+            if (participantsAmount != 0) {
+                pairs.put(catalog.getName(ordinal), participantsAmount);
+            }
+        }
+        return pairs;
+    }
+
+    public Map<String, Integer> getCompletedTasksAmounts() {
+        Map<String, Integer> pairs = new HashMap<>();
+        for (int ordinal = 0; ordinal < aggregates.length; ordinal++) {
+            int completedTasksAmount = getCompletedTasksAmount(ordinal);
+            if (completedTasksAmount != 0) {
+                pairs.put(catalog.getName(ordinal), completedTasksAmount);
+            }
+        }
+        return pairs;
+    }
+
+    public Map<String, Double> getAveragePoints() {
+        Map<String, Double> pairs = new HashMap<>();
+        for (int ordinal = 0; ordinal < aggregates.length; ordinal++) {
+            double averagePoints = getAveragePoints(ordinal);
+            if (averagePoints != 0) {
+                pairs.put(catalog.getName(ordinal), averagePoints);
+            }
+        }
+        return pairs;
+    }
+
+    private static class CourseAggregate {
+        final LongAdder participantsAmount = new LongAdder();
+        final LongAdder completedTasksAmount = new LongAdder();
+        final LongAdder pointsSum = new LongAdder();
+
+        double getAveragePoints() {
+            long participants = participantsAmount.sum();
+            return participants == 0 ? 0 : (double) pointsSum.sum() / participants;
+        }
+    }
+}
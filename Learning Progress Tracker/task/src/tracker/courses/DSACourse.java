@@ -1,7 +0,0 @@
-package tracker.courses;
-
-public class DSACourse extends Course {
-    public DSACourse(int points) {
-        super("DSA", 400, points);
-    }
-}
\ No newline at end of file
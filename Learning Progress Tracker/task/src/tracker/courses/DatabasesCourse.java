@@ -1,7 +0,0 @@
-package tracker.courses;
-
-public class DatabasesCourse extends Course {
-    public DatabasesCourse(int points) {
-        super("Databases", 480, points);
-    }
-}
\ No newline at end of file
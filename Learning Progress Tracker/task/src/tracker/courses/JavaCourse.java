@@ -1,7 +0,0 @@
-package tracker.courses;
-
-public class JavaCourse extends Course {
-    public JavaCourse(int points) {
-        super("Java", 600, points);
-    }
-}
\ No newline at end of file
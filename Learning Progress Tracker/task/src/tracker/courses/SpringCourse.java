@@ -1,7 +0,0 @@
-package tracker.courses;
-
-public class SpringCourse extends Course {
-    public SpringCourse(int points) {
-        super("Spring", 550, points);
-    }
-}
\ No newline at end of file
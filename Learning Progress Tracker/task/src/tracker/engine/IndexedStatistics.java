@@ -0,0 +1,59 @@
+package tracker.engine;
+
+import tracker.CoursesAggregation;
+import tracker.StatisticsSource;
+import tracker.courses.Course;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CourseLeaderboard;
+import tracker.courses.CourseLeaderboards;
+import tracker.courses.CoursesAggregates;
+import tracker.student.Student;
+
+// The engine's statistics: running per-course aggregates and leaderboards.
+class IndexedStatistics implements StatisticsSource {
+    private final CourseCatalog catalog;
+    private final CoursesAggregates coursesAggregates;
+    private final CourseLeaderboards courseLeaderboards;
+
+    IndexedStatistics(CourseCatalog catalog) {
+        this.catalog = catalog;
+        coursesAggregates = new CoursesAggregates(catalog);
+        courseLeaderboards = new CourseLeaderboards(catalog);
+    }
+
+    @Override
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    @Override
+    public void onPointsAdded(int studentId, Course course, int previousPoints) {
+        coursesAggregates.onPointsAdded(studentId, course, previousPoints);
+        courseLeaderboards.onPointsAdded(studentId, course, previousPoints);
+    }
+
+    // Leaderboards take students one at a time, but the aggregates of millions of restored students
+    // are summed on the fork/join pool.
+    @Override
+    public void recordStudents(Student[] students) {
+        for (Student student : students) {
+            for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                Course course = student.getCourse(ordinal);
+                if (course != null) {
+                    courseLeaderboards.recordCourse(student.getID(), course);
+                }
+            }
+        }
+        coursesAggregates.add(CoursesAggregation.aggregate(catalog, students));
+    }
+
+    @Override
+    public CoursesAggregates getCoursesAggregates() {
+        return coursesAggregates.copy();
+    }
+
+    @Override
+    public int forEachParticipant(int ordinal, int offset, int limit, CourseLeaderboard.ParticipantVisitor visitor) {
+        return courseLeaderboards.get(ordinal).forEach(offset, limit, visitor);
+    }
+}
@@ -0,0 +1,113 @@
+package tracker.engine;
+
+import tracker.courses.Course;
+import tracker.courses.CourseProgressListener;
+import tracker.metrics.Metrics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Rendered statistics, each tagged with the mutation version it was rendered at. Every registration and
+// points update bumps the global version, and a points update also bumps the version of its course,
+// so the overview is valid until anything changes and a course report until that course changes.
+// Versions only grow; they are adders rather than atomics so that writers on many cores never contend.
+// Entries are evicted least recently used first once their total length exceeds the bound.
+public class StatisticsCache implements CourseProgressListener {
+    public static final long DEFAULT_MAX_CHARS = 1 << 24;
+
+    private final LongAdder version = new LongAdder();
+    private final LongAdder[] courseVersions;
+    private final long maxChars;
+    private final Metrics metrics;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long chars = 0;
+
+    public StatisticsCache(int coursesAmount, long maxChars, Metrics metrics) {
+        this.courseVersions = new LongAdder[coursesAmount];
+        for (int ordinal = 0; ordinal < coursesAmount; ordinal++) {
+            courseVersions[ordinal] = new LongAdder();
+        }
+        this.maxChars = maxChars;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onPointsAdded(int studentId, Course course, int previousPoints) {
+        courseVersions[course.ORDINAL].increment();
+        version.increment();
+    }
+
+    public void onStudentAdded() {
+        version.increment();
+    }
+
+    // For changes made behind the listeners' back, like loading a snapshot.
+    public void invalidateAll() {
+        for (LongAdder courseVersion : courseVersions) {
+            courseVersion.increment();
+        }
+        version.increment();
+    }
+
+    public long getVersion() {
+        return version.sum();
+    }
+
+    public long getCourseVersion(int ordinal) {
+        return courseVersions[ordinal].sum();
+    }
+
+    // Returns null if nothing was rendered at this version.
+    public synchronized String get(String key, long currentVersion) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version != currentVersion) {
+            metrics.increment(Metrics.STATISTICS_CACHE_MISSES);
+            return null;
+        }
+        metrics.increment(Metrics.STATISTICS_CACHE_HITS);
+        return entry.text;
+    }
+
+    // An older version never replaces a newer one; a text longer than the whole bound is not kept.
+    public synchronized void put(String key, long renderedVersion, String text) {
+        if (text.length() > maxChars) {
+            return;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            if (previous.version > renderedVersion) {
+                return;
+            }
+            chars -= previous.text.length();
+        }
+        entries.put(key, new Entry(renderedVersion, text));
+        chars += text.length();
+
+        Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+        while (chars > maxChars) {
+            chars -= leastRecentlyUsed.next().text.length();
+            leastRecentlyUsed.remove();
+            metrics.increment(Metrics.STATISTICS_CACHE_EVICTIONS);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getChars() {
+        return chars;
+    }
+
+    private static class Entry {
+        final long version;
+        final String text;
+
+        Entry(long version, String text) {
+            this.version = version;
+            this.text = text;
+        }
+    }
+}
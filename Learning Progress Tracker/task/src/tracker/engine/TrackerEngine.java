@@ -0,0 +1,416 @@
+package tracker.engine;
+
+import tracker.CoursesStatistics;
+import tracker.StatisticsSource;
+import tracker.courses.Course;
+import tracker.courses.CourseActivity;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.journal.Journal;
+import tracker.journal.JournalReplayer;
+import tracker.metrics.Metrics;
+import tracker.notification.NotificationOutbox;
+import tracker.output.OutputSink;
+import tracker.output.ReportFormatter;
+import tracker.snapshot.Snapshot;
+import tracker.student.EmailIndex;
+import tracker.student.IdAllocator;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// Registry, points and statistics of all students, safe for many concurrent writers.
+// Writers share the statistics lock and serialize per student on a striped lock, so updates of
+// different students run in parallel. Readers of statistics take the statistics lock exclusively
+// and therefore always see every index at the same point in time.
+public class TrackerEngine {
+    private static final int STUDENT_LOCK_STRIPES = 1 << 10;
+    private static final String OVERVIEW_CACHE_KEY = "";
+    private static final int STREAMING_PAGE_ROWS = 1 << 10;
+
+    private final Map<Integer, Student> students = new ConcurrentSkipListMap<>();
+    private final EmailIndex emailIndex = new EmailIndex();
+    private final CourseCatalog catalog;
+    private final StatisticsSource statisticsSource;
+    private final CourseActivity courseActivity;
+    private final NotificationOutbox notificationOutbox = new NotificationOutbox();
+    private final StudentFactory studentFactory;
+    private final Metrics metrics = new Metrics();
+    private final StatisticsCache statisticsCache;
+
+    private final StampedLock statisticsLock = new StampedLock();
+    private final Object[] studentLocks = new Object[STUDENT_LOCK_STRIPES];
+    private volatile Journal journal = Journal.disabled();
+
+    public TrackerEngine() {
+        this(new IdAllocator());
+    }
+
+    public TrackerEngine(IdAllocator idAllocator) {
+        this(CourseCatalog.DEFAULT, idAllocator);
+    }
+
+    public TrackerEngine(CourseCatalog catalog, IdAllocator idAllocator) {
+        this(catalog, idAllocator, StatisticsCache.DEFAULT_MAX_CHARS);
+    }
+
+    public TrackerEngine(CourseCatalog catalog, IdAllocator idAllocator, long statisticsCacheMaxChars) {
+        this.catalog = catalog;
+        statisticsSource = new IndexedStatistics(catalog);
+        courseActivity = new CourseActivity(catalog);
+        statisticsCache = new StatisticsCache(catalog.size(), statisticsCacheMaxChars, metrics);
+        studentFactory = new StudentFactory(catalog, idAllocator,
+                statisticsSource, notificationOutbox, statisticsCache);
+        for (int i = 0; i < studentLocks.length; i++) {
+            studentLocks[i] = new Object();
+        }
+    }
+
+    // Live view of all students in ID order.
+    public Map<Integer, Student> getStudents() {
+        return students;
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    // Windowed task counts of live updates; replayed and restored progress is not activity.
+    public CourseActivity getCourseActivity() {
+        return courseActivity;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Student findStudent(int studentId) {
+        return students.get(studentId);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return emailIndex.contains(email);
+    }
+
+    // Every record is written before the change it describes becomes visible to other writers.
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    public boolean isJournalEnabled() {
+        return journal.isEnabled();
+    }
+
+    // Group commit of everything journaled so far.
+    public void commitJournal() {
+        journal.commit();
+    }
+
+    public Student register(String name, String lastName, String email) throws IllegalArgumentException {
+        long stamp = statisticsLock.readLock();
+        try {
+            if (!emailIndex.add(email)) {
+                throw new IllegalArgumentException("This email is already taken.");
+            }
+
+            Student student;
+            try {
+                student = studentFactory.getStudent(name, lastName, email);
+                journal.recordRegistration(student.getID(), name, lastName, email);
+            } catch (RuntimeException e) {
+                emailIndex.remove(email);
+                throw e;
+            }
+            students.put(student.getID(), student);
+            statisticsCache.onStudentAdded();
+            return student;
+        } finally {
+            statisticsLock.unlockRead(stamp);
+        }
+    }
+
+    // Called on a thread that registers no more students, such as a finished network session,
+    // so the IDs reserved for it are handed out by other threads instead of being skipped.
+    public void releaseUnusedIds() {
+        studentFactory.releaseUnusedIds();
+    }
+
+    // One value per course, in ordinal order. Journaled before it is applied, so an update the journal
+    // failed to take leaves the student unchanged.
+    public void addPoints(Student student, int... points) {
+        if (points.length != catalog.size()) {
+            throw new IllegalArgumentException("Incorrect points format");
+        }
+
+        long stamp = statisticsLock.readLock();
+        try {
+            synchronized (lockOf(student.getID())) {
+                if (journal.isEnabled()) {
+                    journal.recordPoints(student.getID(), points);
+                }
+                student.addPoints(points);
+            }
+
+            long now = courseActivity.currentTimeMillis();
+            for (int ordinal = 0; ordinal < points.length; ordinal++) {
+                if (points[ordinal] != 0) {
+                    courseActivity.record(ordinal, now);
+                }
+            }
+        } finally {
+            statisticsLock.unlockRead(stamp);
+        }
+    }
+
+    // Returns false if there is no such student.
+    public boolean addPoints(int studentId, int... points) {
+        Student student = students.get(studentId);
+        if (student == null) {
+            return false;
+        }
+        addPoints(student, points);
+        return true;
+    }
+
+    // Marks every newly finished course as notified and passes it on, students in ID order.
+    // Returns the number of notified students. The notifier runs after the statistics lock is
+    // released, so a slow or blocking notifier does not hold up statistics readers or writers.
+    // A course is only journaled as notified by confirmNotified, once its notification is delivered.
+    public int notifyFinishedCourses(BiConsumer<Student, Course> notifier) {
+        List<Student> finishedStudents = new ArrayList<>();
+        List<Course> finishedCourses = new ArrayList<>();
+        int notifiedStudentsCounter = 0;
+
+        long stamp = statisticsLock.writeLock();
+        try {
+            for (int studentId : notificationOutbox.drain()) {
+                Student student = students.get(studentId);
+                boolean notify = false;
+
+                for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                    Course course = student.getCourse(ordinal);
+                    if (course != null && course.isFinished() && !course.isNotified()) {
+                        course.setNotified(true);
+                        finishedStudents.add(student);
+                        finishedCourses.add(course);
+                        notify = true;
+                    }
+                }
+
+                notifiedStudentsCounter += notify ? 1 : 0;
+            }
+        } finally {
+            statisticsLock.unlockWrite(stamp);
+        }
+
+        for (int i = 0; i < finishedCourses.size(); i++) {
+            notifier.accept(finishedStudents.get(i), finishedCourses.get(i));
+        }
+        return notifiedStudentsCounter;
+    }
+
+    // Journals a course passed on by notifyFinishedCourses once its notification has been delivered.
+    public void confirmNotified(int studentId, String courseName) {
+        long stamp = statisticsLock.readLock();
+        try {
+            journal.recordNotified(studentId, courseName);
+        } finally {
+            statisticsLock.unlockRead(stamp);
+        }
+    }
+
+    // Hands a course whose notification could not be delivered back to the outbox,
+    // so the next notifyFinishedCourses passes it on again.
+    public void retryNotification(int studentId, String courseName) {
+        Student student = students.get(studentId);
+        int ordinal = catalog.ordinalOf(courseName);
+        if (student == null || ordinal < 0 || student.getCourse(ordinal) == null) {
+            return;
+        }
+
+        long stamp = statisticsLock.readLock();
+        try {
+            synchronized (lockOf(studentId)) {
+                Course course = student.getCourse(ordinal);
+                course.setNotified(false);
+                notificationOutbox.recordCourse(studentId, course);
+            }
+        } finally {
+            statisticsLock.unlockRead(stamp);
+        }
+    }
+
+    // A copy of the per-course aggregates taken while no update is in progress.
+    public CoursesAggregates getCoursesAggregates() {
+        long stamp = statisticsLock.writeLock();
+        try {
+            return statisticsSource.getCoursesAggregates();
+        } finally {
+            statisticsLock.unlockWrite(stamp);
+        }
+    }
+
+    // The six overview lines, rendered from a consistent copy of the aggregates unless nothing changed
+    // since the last rendering.
+    public String getStatisticsOverview(Function<CoursesAggregates, String> renderer) {
+        String overview = statisticsCache.get(OVERVIEW_CACHE_KEY, statisticsCache.getVersion());
+        if (overview != null) {
+            return overview;
+        }
+
+        long version;
+        CoursesAggregates aggregates;
+        long stamp = statisticsLock.writeLock();
+        try {
+            version = statisticsCache.getVersion();
+            aggregates = statisticsSource.getCoursesAggregates();
+        } finally {
+            statisticsLock.unlockWrite(stamp);
+        }
+        overview = renderer.apply(aggregates);
+        statisticsCache.put(OVERVIEW_CACHE_KEY, version, overview);
+        return overview;
+    }
+
+    // A course report printed page by page, so a course of any size needs one page of memory. Every page
+    // is rendered under the statistics lock and printed after releasing it; writers wait for one page at most,
+    // but a report longer than a page is no longer one point-in-time view. Reports of one page are cached
+    // and stay cached while only other courses change.
+    public void printCourseParticipantsAndTheirStats(String courseName, int offset, int limit, OutputSink out) {
+        int ordinal = catalog.ordinalOf(courseName);
+        if (ordinal < 0) {
+            out.print(
+                    CoursesStatistics.getCourseParticipantsAndTheirStats(statisticsSource, courseName, offset, limit));
+            return;
+        }
+
+        String key = courseReportCacheKey(courseName, offset, limit);
+        String participants = statisticsCache.get(key, statisticsCache.getCourseVersion(ordinal));
+        if (participants != null) {
+            out.print(participants);
+            return;
+        }
+
+        ReportFormatter page = new ReportFormatter(STREAMING_PAGE_ROWS * 32).append(courseName).newLine()
+                .append(CoursesStatistics.PARTICIPANTS_HEADER).newLine();
+        long version = 0;
+        int printed = 0;
+        while (true) {
+            int pageLimit = Math.min(STREAMING_PAGE_ROWS, limit - printed);
+            int rows;
+            long stamp = statisticsLock.writeLock();
+            try {
+                if (printed == 0) {
+                    version = statisticsCache.getCourseVersion(ordinal);
+                }
+                rows = CoursesStatistics.appendParticipantsStats(page, statisticsSource, ordinal, offset + printed,
+                        pageLimit);
+            } finally {
+                statisticsLock.unlockWrite(stamp);
+            }
+            boolean lastPage = rows < pageLimit || printed + rows == limit;
+
+            if (printed == 0 && lastPage) {
+                participants = page.toString();
+                statisticsCache.put(key, version, participants);
+                out.print(participants);
+                return;
+            }
+            out.print(page.toString());
+            page.clear();
+            printed += rows;
+            if (lastPage) {
+                return;
+            }
+        }
+    }
+
+    private static String courseReportCacheKey(String courseName, int offset, int limit) {
+        return courseName + '\n' + offset + '\n' + limit;
+    }
+
+    public StatisticsCache getStatisticsCache() {
+        return statisticsCache;
+    }
+
+    // Returns the number of saved students.
+    public int saveSnapshot(Path path) throws IOException {
+        long stamp = statisticsLock.writeLock();
+        try {
+            journal.commit();
+            Snapshot.save(path, catalog, students.values(), studentFactory.getNextID(), journal.getEntriesAmount());
+            return students.size();
+        } finally {
+            statisticsLock.unlockWrite(stamp);
+        }
+    }
+
+    // Returns the number of journal records the snapshot already covers.
+    public long loadSnapshot(Path path) throws IOException {
+        long stamp = statisticsLock.writeLock();
+        try {
+            Snapshot snapshot = Snapshot.load(path, studentFactory);
+            Student[] loadedStudents = snapshot.getStudents();
+            for (Student student : loadedStudents) {
+                students.put(student.getID(), student);
+                emailIndex.add(student.getEmail());
+                for (int ordinal = 0; ordinal < catalog.size(); ordinal++) {
+                    Course course = student.getCourse(ordinal);
+                    if (course != null) {
+                        notificationOutbox.recordCourse(student.getID(), course);
+                    }
+                }
+            }
+            statisticsSource.recordStudents(loadedStudents);
+            statisticsCache.invalidateAll();
+            return snapshot.getJournalEntries();
+        } finally {
+            statisticsLock.unlockWrite(stamp);
+        }
+    }
+
+    // Applies journal records without journaling them again; used before any writer starts.
+    public JournalReplayer getJournalReplayer() {
+        return new JournalReplayer() {
+            @Override
+            public void onRegistration(int studentId, String name, String lastName, String email) {
+                Student student = studentFactory.restoreStudent(studentId, name, lastName, email);
+                students.put(student.getID(), student);
+                emailIndex.add(email);
+                statisticsCache.onStudentAdded();
+            }
+
+            @Override
+            public void onPoints(int studentId, int[] points) {
+                Student student = students.get(studentId);
+                if (student != null) {
+                    // Courses appended to the catalog since the record was written get no points.
+                    student.addPoints(points.length < catalog.size() ? Arrays.copyOf(points, catalog.size()) : points);
+                }
+            }
+
+            @Override
+            public void onNotified(int studentId, String courseName) {
+                Student student = students.get(studentId);
+                int ordinal = catalog.ordinalOf(courseName);
+                if (student != null && ordinal >= 0 && student.getCourse(ordinal) != null) {
+                    student.getCourse(ordinal).setNotified(true);
+                }
+            }
+        };
+    }
+
+    private Object lockOf(int studentId) {
+        return studentLocks[studentId & (STUDENT_LOCK_STRIPES - 1)];
+    }
+}
@@ -0,0 +1,106 @@
+package tracker.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Splits a UTF-8 stream into lines straight from a large byte buffer: no regex, no char decoder state,
+// and an ASCII line is copied into its String as is. Lines end with \n; a \r before it is dropped.
+// Like Scanner.nextLine, the last line may lack its \n and the end of input is a NoSuchElementException.
+public class ByteLineReader implements LineSource {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final InputStream stream;
+    private final byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean ended = false;
+    // The start of a line longer than what was left of the buffer.
+    private byte[] pending = new byte[0];
+    private int pendingLength = 0;
+
+    public ByteLineReader(InputStream stream) {
+        this(stream, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ByteLineReader(InputStream stream, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Incorrect buffer size " + bufferSize);
+        }
+        this.stream = stream;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public String nextLine() {
+        while (true) {
+            for (int i = position; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    String line;
+                    if (pendingLength == 0) {
+                        line = decode(buffer, position, i);
+                    } else {
+                        appendPending(buffer, position, i);
+                        line = decode(pending, 0, pendingLength);
+                        pendingLength = 0;
+                    }
+                    position = i + 1;
+                    return line;
+                }
+            }
+
+            appendPending(buffer, position, limit);
+            position = limit;
+            if (!fill()) {
+                if (pendingLength == 0) {
+                    throw new NoSuchElementException("No line found");
+                }
+                String line = decode(pending, 0, pendingLength);
+                pendingLength = 0;
+                return line;
+            }
+        }
+    }
+
+    private boolean fill() {
+        if (ended) {
+            return false;
+        }
+        try {
+            int read = stream.read(buffer);
+            if (read < 0) {
+                ended = true;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendPending(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pendingLength + length, pending.length * 2));
+        }
+        System.arraycopy(bytes, from, pending, pendingLength, length);
+        pendingLength += length;
+    }
+
+    private static String decode(byte[] bytes, int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        for (int i = from; i < to; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+}
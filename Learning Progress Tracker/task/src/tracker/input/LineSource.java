@@ -0,0 +1,10 @@
+package tracker.input;
+
+import java.util.NoSuchElementException;
+
+// Where a session reads its commands from, one line at a time.
+public interface LineSource {
+
+    // Throws NoSuchElementException once the input has ended.
+    String nextLine() throws NoSuchElementException;
+}
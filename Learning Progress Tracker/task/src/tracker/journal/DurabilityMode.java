@@ -0,0 +1,10 @@
+package tracker.journal;
+
+public enum DurabilityMode {
+    // Records reach the OS when the buffer fills up or a command ends; nothing is fsynced.
+    NONE,
+    // Group commit: one fsync per full buffer and per command, covering every record written since the last one.
+    BATCH,
+    // One fsync per record.
+    SYNC
+}
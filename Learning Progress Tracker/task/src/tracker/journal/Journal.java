@@ -0,0 +1,330 @@
+package tracker.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Append-only log of successful registrations, point updates and sent notifications.
+// Every record is framed as [int length][byte type][payload][int crc32 of type and payload],
+// so a record torn by a crash is detected on replay and cut off. Writers are serialized on the journal.
+public class Journal implements AutoCloseable {
+    private static final byte REGISTRATION = 1;
+    private static final byte POINTS = 2;
+    private static final byte NOTIFIED = 3;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+
+    private final FileChannel channel;
+    private final DurabilityMode durabilityMode;
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    private long entriesAmount;
+    // Where the bytes written to the file so far end.
+    private long writtenEnd;
+
+    private Journal(FileChannel channel, DurabilityMode durabilityMode, long entriesAmount, long writtenEnd) {
+        this.channel = channel;
+        this.durabilityMode = durabilityMode;
+        this.buffer = channel == null ? null : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.entriesAmount = entriesAmount;
+        this.writtenEnd = writtenEnd;
+    }
+
+    public static Journal disabled() {
+        return new Journal(null, DurabilityMode.NONE, 0, 0);
+    }
+
+    // Replays the existing journal, drops a torn tail left by a crash and opens the file for appending.
+    public static Journal open(Path path, DurabilityMode durabilityMode, JournalReplayer replayer) throws IOException {
+        return open(path, durabilityMode, replayer, 0);
+    }
+
+    // Same as above, but the first skippedEntries records are only validated, not replayed,
+    // because a snapshot already contains their effects.
+    public static Journal open(Path path, DurabilityMode durabilityMode, JournalReplayer replayer,
+                               long skippedEntries) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return open(channel, durabilityMode, replayer, skippedEntries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Same as above on a channel opened for reading and writing, which the journal closes.
+    public static Journal open(FileChannel channel, DurabilityMode durabilityMode, JournalReplayer replayer,
+                               long skippedEntries) throws IOException {
+        long[] validEnd = new long[1];
+        long entriesAmount = replay(channel, replayer, skippedEntries, validEnd);
+        channel.truncate(validEnd[0]);
+        channel.position(validEnd[0]);
+        return new Journal(channel, durabilityMode, entriesAmount, validEnd[0]);
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public synchronized long getEntriesAmount() {
+        return entriesAmount;
+    }
+
+    public synchronized void recordRegistration(int studentId, String name, String lastName, String email) {
+        if (channel == null) {
+            return;
+        }
+
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] lastNameBytes = lastName.getBytes(StandardCharsets.UTF_8);
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 1 + Integer.BYTES * 4 + nameBytes.length + lastNameBytes.length + emailBytes.length;
+
+        ByteBuffer record = beginRecord(payloadLength, REGISTRATION);
+        record.putInt(studentId);
+        putBytes(record, nameBytes);
+        putBytes(record, lastNameBytes);
+        putBytes(record, emailBytes);
+        endRecord(record, payloadLength);
+    }
+
+    public synchronized void recordPoints(int studentId, int[] points) {
+        if (channel == null) {
+            return;
+        }
+
+        int payloadLength = 1 + Integer.BYTES + 1 + Integer.BYTES * points.length;
+        ByteBuffer record = beginRecord(payloadLength, POINTS);
+        record.putInt(studentId);
+        record.put((byte) points.length);
+        for (int point : points) {
+            record.putInt(point);
+        }
+        endRecord(record, payloadLength);
+    }
+
+    public synchronized void recordNotified(int studentId, String courseName) {
+        if (channel == null) {
+            return;
+        }
+
+        byte[] courseNameBytes = courseName.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = 1 + Integer.BYTES * 2 + courseNameBytes.length;
+        ByteBuffer record = beginRecord(payloadLength, NOTIFIED);
+        record.putInt(studentId);
+        putBytes(record, courseNameBytes);
+        endRecord(record, payloadLength);
+    }
+
+    // Makes every record written so far as durable as the configured mode promises.
+    public synchronized void commit() {
+        if (channel == null) {
+            return;
+        }
+
+        writeBuffer();
+        if (durabilityMode != DurabilityMode.NONE) {
+            force();
+        }
+    }
+
+    // Closes the file even if the last commit fails.
+    @Override
+    public synchronized void close() {
+        if (channel == null || !channel.isOpen()) {
+            return;
+        }
+
+        try {
+            commit();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new JournalException(e);
+            }
+        }
+    }
+
+    private ByteBuffer beginRecord(int payloadLength, byte type) {
+        if (buffer.remaining() < payloadLength + FRAME_OVERHEAD) {
+            writeBuffer();
+            if (durabilityMode == DurabilityMode.BATCH) {
+                force();
+            }
+        }
+
+        ByteBuffer record = buffer.remaining() < payloadLength + FRAME_OVERHEAD
+                ? ByteBuffer.allocate(payloadLength + FRAME_OVERHEAD)
+                : buffer;
+        record.putInt(payloadLength);
+        record.put(type);
+        return record;
+    }
+
+    private void endRecord(ByteBuffer record, int payloadLength) {
+        ByteBuffer payload = record.duplicate();
+        payload.flip();
+        payload.position(payload.limit() - payloadLength);
+        crc.reset();
+        crc.update(payload);
+        record.putInt((int) crc.getValue());
+        entriesAmount++;
+
+        // Written right away, so the buffer holds nothing before the record and the record starts here.
+        if (record != buffer || durabilityMode == DurabilityMode.SYNC) {
+            long recordStart = writtenEnd;
+            try {
+                if (record != buffer) {
+                    record.flip();
+                    write(record);
+                }
+                if (durabilityMode == DurabilityMode.SYNC) {
+                    commit();
+                }
+            } catch (JournalException e) {
+                discard(recordStart);
+                throw e;
+            }
+        }
+    }
+
+    // Drops a record that failed to reach the disk, including any part of it already written, so a later
+    // commit cannot replay a change its caller never made.
+    private void discard(long recordStart) {
+        buffer.clear();
+        entriesAmount--;
+        try {
+            channel.truncate(recordStart);
+            channel.position(recordStart);
+            writtenEnd = recordStart;
+        } catch (IOException e) {
+            // The channel is unusable, so every later record fails as well.
+        }
+    }
+
+    private static void putBytes(ByteBuffer record, byte[] bytes) {
+        record.putInt(bytes.length);
+        record.put(bytes);
+    }
+
+    // Keeps whatever a failed write left unwritten, so the next attempt continues where this one stopped
+    // instead of writing records twice.
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            write(buffer);
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    private void write(ByteBuffer bytes) {
+        try {
+            while (bytes.hasRemaining()) {
+                writtenEnd += channel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new JournalException(e);
+        }
+    }
+
+    private void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new JournalException(e);
+        }
+    }
+
+    private static long replay(FileChannel channel, JournalReplayer replayer, long skippedEntries,
+                               long[] validEnd) throws IOException {
+        ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        input.flip();
+        CRC32 crc = new CRC32();
+        long entriesAmount = 0;
+        long position = 0;
+        long journalSize = channel.size();
+        channel.position(0);
+
+        while (true) {
+            input.compact();
+            int read = channel.read(input);
+            input.flip();
+
+            while (input.remaining() >= Integer.BYTES) {
+                int payloadLength = input.getInt(input.position());
+                if (payloadLength <= 0 || payloadLength > journalSize) {
+                    validEnd[0] = position;
+                    return entriesAmount;
+                }
+                if (payloadLength + FRAME_OVERHEAD > input.capacity()) {
+                    input = grow(input, payloadLength + FRAME_OVERHEAD);
+                }
+                if (input.remaining() < payloadLength + FRAME_OVERHEAD) {
+                    break;
+                }
+
+                ByteBuffer payload = input.duplicate();
+                payload.position(input.position() + Integer.BYTES);
+                payload.limit(payload.position() + payloadLength);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != input.getInt(payload.limit())) {
+                    validEnd[0] = position;
+                    return entriesAmount;
+                }
+
+                if (entriesAmount >= skippedEntries) {
+                    apply(payload, replayer);
+                }
+                input.position(payload.limit() + Integer.BYTES);
+                position += payloadLength + FRAME_OVERHEAD;
+                entriesAmount++;
+            }
+
+            if (read < 0) {
+                validEnd[0] = position;
+                return entriesAmount;
+            }
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer input, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(input);
+        grown.flip();
+        return grown;
+    }
+
+    private static void apply(ByteBuffer payload, JournalReplayer replayer) {
+        byte type = payload.get();
+        int studentId = payload.getInt();
+
+        if (type == REGISTRATION) {
+            replayer.onRegistration(studentId, getString(payload), getString(payload), getString(payload));
+        } else if (type == POINTS) {
+            int[] points = new int[payload.get()];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = payload.getInt();
+            }
+            replayer.onPoints(studentId, points);
+        } else if (type == NOTIFIED) {
+            replayer.onNotified(studentId, getString(payload));
+        } else {
+            throw new JournalException("Unknown journal record type " + type);
+        }
+    }
+
+    private static String getString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getInt()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
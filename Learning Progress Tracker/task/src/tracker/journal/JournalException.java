@@ -0,0 +1,16 @@
+package tracker.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public class JournalException extends UncheckedIOException {
+    private static final long serialVersionUID = 1L;
+
+    JournalException(IOException cause) {
+        super(cause);
+    }
+
+    JournalException(String message) {
+        super(new IOException(message));
+    }
+}
@@ -0,0 +1,10 @@
+package tracker.journal;
+
+public interface JournalReplayer {
+
+    void onRegistration(int studentId, String name, String lastName, String email);
+
+    void onPoints(int studentId, int[] points);
+
+    void onNotified(int studentId, String courseName);
+}
@@ -0,0 +1,71 @@
+package tracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram of nanosecond latencies: every power of two is split into 16 buckets, so a
+// percentile is off by at most 1/16 of its value. Recording is two atomic increments and never allocates.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.increment();
+        maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    // The smallest recorded bucket bound that at least the given fraction (0 < fraction <= 1) of values fit under.
+    public long getPercentileNanos(double fraction) {
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += counts.get(bucket);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max((long) Math.ceil(fraction * total), 1);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(bucket), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
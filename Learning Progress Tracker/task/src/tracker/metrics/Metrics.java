@@ -0,0 +1,153 @@
+package tracker.metrics;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms of commands, statistics computations and notification deliveries plus operation
+// and error counters, shared by every session of one tracker.
+public class Metrics {
+    public static final String STUDENTS_ADDED = "students added";
+    public static final String POINTS_UPDATES = "points updates";
+    public static final String STUDENTS_NOTIFIED = "students notified";
+    public static final String INCORRECT_CREDENTIALS = "incorrect credentials";
+    public static final String EMAIL_TAKEN = "email taken";
+    public static final String UNKNOWN_ID = "unknown id";
+    public static final String INCORRECT_POINTS_FORMAT = "incorrect points format";
+    public static final String UNKNOWN_COMMAND = "unknown command";
+    public static final String NOTIFICATIONS_DELIVERED = "notifications delivered";
+    public static final String NOTIFICATION_FAILURES = "notification failures";
+    public static final String NOTIFICATION_BATCHES = "notification batches";
+    public static final String STATISTICS_CACHE_HITS = "statistics cache hits";
+    public static final String STATISTICS_CACHE_MISSES = "statistics cache misses";
+    public static final String STATISTICS_CACHE_EVICTIONS = "statistics cache evictions";
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final ConcurrentMap<String, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> computations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> notifications = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public void recordCommand(String command, long startNanos) {
+        histogramOf(commands, command).record(System.nanoTime() - startNanos);
+    }
+
+    public void recordComputation(String computation, long startNanos) {
+        histogramOf(computations, computation).record(System.nanoTime() - startNanos);
+    }
+
+    // Time from submitting a notification to the end of its delivery, by sink.
+    public void recordNotification(String sink, long latencyNanos) {
+        histogramOf(notifications, sink).record(latencyNanos);
+    }
+
+    public void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long amount) {
+        LongAdder adder = counters.get(counter);
+        if (adder == null) {
+            counters.putIfAbsent(counter, new LongAdder());
+            adder = counters.get(counter);
+        }
+        adder.add(amount);
+    }
+
+    public long getCount(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public LatencyHistogram getCommandHistogram(String command) {
+        return commands.get(command);
+    }
+
+    public LatencyHistogram getNotificationHistogram(String sink) {
+        return notifications.get(sink);
+    }
+
+    // What the metrics command prints.
+    public String render() {
+        StringBuilder sb = new StringBuilder();
+        renderHistograms(sb, "command (us)", commands);
+        renderHistograms(sb, "computation (us)", computations);
+        renderHistograms(sb, "notification (us)", notifications);
+
+        sb.append(String.format("%-24s %8s%n", "counter", "value"));
+        for (Map.Entry<String, Long> counter : countersSnapshot().entrySet()) {
+            sb.append(String.format("%-24s %8d%n", counter.getKey(), counter.getValue()));
+        }
+        return sb.toString();
+    }
+
+    // One JSON object on a single line, for appending to a dump file.
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"timestamp\":\"").append(Instant.now()).append('"');
+        appendHistograms(sb, "commands", commands);
+        appendHistograms(sb, "computations", computations);
+        appendHistograms(sb, "notifications", notifications);
+
+        sb.append(",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Long> counter : countersSnapshot().entrySet()) {
+            sb.append(separator).append(quoted(counter.getKey())).append(':').append(counter.getValue());
+            separator = ",";
+        }
+        return sb.append("}}").toString();
+    }
+
+    private static LatencyHistogram histogramOf(ConcurrentMap<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histograms.putIfAbsent(name, new LatencyHistogram());
+            histogram = histograms.get(name);
+        }
+        return histogram;
+    }
+
+    private Map<String, Long> countersSnapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            snapshot.put(counter.getKey(), counter.getValue().sum());
+        }
+        return snapshot;
+    }
+
+    private static void renderHistograms(StringBuilder sb, String title, Map<String, LatencyHistogram> histograms) {
+        sb.append(String.format("%-24s %8s %10s %10s %10s %10s%n", title, "count", "p50", "p99", "p999", "max"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            sb.append(String.format("%-24s %8d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getPercentileNanos(0.5) / NANOS_PER_MICRO,
+                    histogram.getPercentileNanos(0.99) / NANOS_PER_MICRO,
+                    histogram.getPercentileNanos(0.999) / NANOS_PER_MICRO,
+                    histogram.getMaxNanos() / NANOS_PER_MICRO));
+        }
+    }
+
+    private static void appendHistograms(StringBuilder sb, String group, Map<String, LatencyHistogram> histograms) {
+        sb.append(",\"").append(group).append("\":{");
+        String separator = "";
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            sb.append(separator).append(quoted(entry.getKey()))
+                    .append(":{\"count\":").append(histogram.getCount())
+                    .append(",\"p50_ns\":").append(histogram.getPercentileNanos(0.5))
+                    .append(",\"p99_ns\":").append(histogram.getPercentileNanos(0.99))
+                    .append(",\"p999_ns\":").append(histogram.getPercentileNanos(0.999))
+                    .append(",\"max_ns\":").append(histogram.getMaxNanos())
+                    .append('}');
+            separator = ",";
+        }
+        sb.append('}');
+    }
+
+    private static String quoted(String name) {
+        return '"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
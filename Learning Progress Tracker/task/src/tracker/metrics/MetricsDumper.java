@@ -0,0 +1,55 @@
+package tracker.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Appends the metrics as one JSON line to a file every period and once more when closed.
+public class MetricsDumper implements AutoCloseable {
+    private final Metrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "metrics-dumper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsDumper(Metrics metrics, Path file, long periodSeconds) throws IOException {
+        if (periodSeconds < 1) {
+            throw new IllegalArgumentException("Incorrect metrics dump period");
+        }
+        this.metrics = metrics;
+        this.file = file;
+        dump();
+        scheduler.scheduleAtFixedRate(this::dumpQuietly, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dumpQuietly();
+    }
+
+    private void dump() throws IOException {
+        Files.write(file, (metrics.toJson() + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (IOException e) {
+            // the next dump tries again
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package tracker.notification;
+
+import tracker.output.OutputSink;
+
+import java.util.BitSet;
+import java.util.List;
+
+public class ConsoleNotificationSink implements NotificationSink {
+    private final OutputSink out;
+
+    public ConsoleNotificationSink(OutputSink out) {
+        this.out = out;
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications, List<String> messages, BitSet delivered) {
+        for (String message : messages) {
+            out.print(message);
+        }
+        delivered.set(0, messages.size());
+    }
+
+    @Override
+    public boolean isOrdered() {
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package tracker.notification;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Spools every message into a maildir: written to tmp/ first and then moved to new/,
+// so a mail reader never sees a half-written file.
+public class MaildirNotificationSink implements NotificationSink {
+    private static final AtomicLong sinksCounter = new AtomicLong();
+
+    private final Path tmpDirectory;
+    private final Path newDirectory;
+    private final String uniquePrefix;
+    private final AtomicLong messagesCounter = new AtomicLong();
+
+    public MaildirNotificationSink(Path directory) throws IOException {
+        this.tmpDirectory = Files.createDirectories(directory.resolve("tmp"));
+        this.newDirectory = Files.createDirectories(directory.resolve("new"));
+        Files.createDirectories(directory.resolve("cur"));
+        this.uniquePrefix = System.currentTimeMillis() + "." + ProcessHandle.current().pid()
+                + "_" + sinksCounter.incrementAndGet() + ".";
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications, List<String> messages, BitSet delivered)
+            throws IOException {
+        for (int i = 0; i < messages.size(); i++) {
+            String fileName = uniquePrefix + messagesCounter.incrementAndGet() + ".tracker";
+            Path temporary = tmpDirectory.resolve(fileName);
+            Files.write(temporary, messages.get(i).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, newDirectory.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+            delivered.set(i);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package tracker.notification;
+
+public class Notification {
+    private final int studentId;
+    private final String email;
+    private final String name;
+    private final String lastName;
+    private final String courseName;
+    final long submittedNanos;
+
+    public Notification(int studentId, String email, String name, String lastName, String courseName) {
+        this.studentId = studentId;
+        this.email = email;
+        this.name = name;
+        this.lastName = lastName;
+        this.courseName = courseName;
+        this.submittedNanos = System.nanoTime();
+    }
+
+    public int getStudentId() {
+        return studentId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+}
@@ -0,0 +1,244 @@
+package tracker.notification;
+
+import tracker.concurrent.VirtualThreads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Collects notifications into batches on a coordinator thread and hands every batch to the sink
+// on its own virtual thread. Submitting blocks while the queue is full, and the coordinator stops
+// taking batches while too many are in flight or the rate limit is reached.
+public class NotificationDispatcher implements AutoCloseable {
+
+    // Told the outcome of every notification on its delivery thread, before flush returns.
+    // The latency is the time from submitting the notification to the end of its delivery.
+    // An exception thrown here does not stop the other notifications; the next flush rethrows it.
+    public interface DeliveryListener {
+        DeliveryListener NONE = new DeliveryListener() {
+        };
+
+        default void onDelivered(Notification notification, long latencyNanos) {
+        }
+
+        default void onFailed(Notification notification, long latencyNanos) {
+        }
+    }
+
+    private static final Notification END_OF_NOTIFICATIONS = new Notification(0, "", "", "", "");
+    private static final int MAX_BATCHES_IN_FLIGHT = 64;
+
+    private final NotificationSink sink;
+    private final NotificationTemplate template;
+    private final DeliveryListener listener;
+    private final int batchSize;
+    private final long nanosPerMessage;
+
+    private final BlockingQueue<Notification> queue;
+    private final Semaphore batchesInFlight = new Semaphore(MAX_BATCHES_IN_FLIGHT);
+    private final ExecutorService deliveries = VirtualThreads.newThreadPerTaskExecutor("notification-delivery");
+    private final Thread coordinator;
+    private final Object pendingLock = new Object();
+    private long pendingAmount = 0;
+    private long nextAllowedNanos = System.nanoTime();
+    private final AtomicReference<RuntimeException> deliveryFailure = new AtomicReference<>();
+
+    private final LongAdder deliveredAmount = new LongAdder();
+    private final LongAdder failedAmount = new LongAdder();
+    private final LongAdder batchesAmount = new LongAdder();
+
+    public NotificationDispatcher(NotificationSink sink, NotificationTemplate template,
+                                  int batchSize, int maxMessagesPerSecond, int queueCapacity) {
+        this(sink, template, batchSize, maxMessagesPerSecond, queueCapacity, DeliveryListener.NONE);
+    }
+
+    // maxMessagesPerSecond of 0 disables the rate limit.
+    public NotificationDispatcher(NotificationSink sink, NotificationTemplate template, int batchSize,
+                                  int maxMessagesPerSecond, int queueCapacity, DeliveryListener listener) {
+        if (batchSize < 1 || maxMessagesPerSecond < 0 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Incorrect notification dispatcher settings");
+        }
+
+        this.sink = sink;
+        this.template = template;
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.nanosPerMessage = maxMessagesPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / maxMessagesPerSecond;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.coordinator = new Thread(this::dispatchBatches, "notification-dispatcher");
+        this.coordinator.setDaemon(true);
+        this.coordinator.start();
+    }
+
+    public void submit(Notification notification) {
+        synchronized (pendingLock) {
+            pendingAmount++;
+        }
+        try {
+            queue.put(notification);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed(1);
+        }
+    }
+
+    // Blocks until every notification submitted so far has been delivered or has failed.
+    public void flush() {
+        awaitPending();
+        rethrowDeliveryFailure();
+    }
+
+    @Override
+    public void close() {
+        awaitPending();
+        try {
+            queue.put(END_OF_NOTIFICATIONS);
+            coordinator.join();
+            sink.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deliveries.shutdown();
+        }
+        rethrowDeliveryFailure();
+    }
+
+    public long getDeliveredAmount() {
+        return deliveredAmount.sum();
+    }
+
+    public long getFailedAmount() {
+        return failedAmount.sum();
+    }
+
+    public long getBatchesAmount() {
+        return batchesAmount.sum();
+    }
+
+    private void awaitPending() {
+        synchronized (pendingLock) {
+            while (pendingAmount > 0) {
+                try {
+                    pendingLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Reported once: the flush after it starts clean.
+    private void rethrowDeliveryFailure() {
+        RuntimeException failure = deliveryFailure.getAndSet(null);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Keeps the first failure, so the one that caused the others is the one rethrown.
+    private void recordDeliveryFailure(Throwable failure) {
+        RuntimeException exception = failure instanceof RuntimeException
+                ? (RuntimeException) failure
+                : new IllegalStateException(failure);
+        deliveryFailure.compareAndSet(null, exception);
+    }
+
+    private void dispatchBatches() {
+        try {
+            while (true) {
+                List<Notification> batch = new ArrayList<>(Math.min(batchSize, 1024));
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+
+                boolean endOfNotifications = batch.remove(END_OF_NOTIFICATIONS);
+                if (!batch.isEmpty()) {
+                    throttle(batch.size());
+                    batchesInFlight.acquire();
+                    Future<?> delivery = deliveries.submit(() -> deliver(batch));
+                    if (sink.isOrdered()) {
+                        try {
+                            delivery.get();
+                        } catch (ExecutionException e) {
+                            recordDeliveryFailure(e.getCause());
+                        }
+                    }
+                }
+                if (endOfNotifications) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void throttle(int messagesAmount) throws InterruptedException {
+        if (nanosPerMessage == 0) {
+            return;
+        }
+
+        long waitNanos = nextAllowedNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        nextAllowedNanos = Math.max(nextAllowedNanos, System.nanoTime()) + messagesAmount * nanosPerMessage;
+    }
+
+    private void deliver(List<Notification> batch) {
+        BitSet delivered = new BitSet(batch.size());
+        try {
+            List<String> messages = new ArrayList<>(batch.size());
+            StringBuilder sb = new StringBuilder();
+            for (Notification notification : batch) {
+                sb.setLength(0);
+                template.render(notification, sb);
+                messages.add(sb.toString());
+            }
+
+            sink.deliver(batch, messages, delivered);
+        } catch (Exception e) {
+            // the messages not marked as delivered are reported to the listener below
+        }
+
+        try {
+            long now = System.nanoTime();
+            for (int i = 0; i < batch.size(); i++) {
+                Notification notification = batch.get(i);
+                long latency = now - notification.submittedNanos;
+                try {
+                    if (delivered.get(i)) {
+                        listener.onDelivered(notification, latency);
+                    } else {
+                        listener.onFailed(notification, latency);
+                    }
+                } catch (RuntimeException e) {
+                    recordDeliveryFailure(e);
+                }
+            }
+        } finally {
+            int deliveredMessages = delivered.cardinality();
+            deliveredAmount.add(deliveredMessages);
+            failedAmount.add(batch.size() - deliveredMessages);
+            batchesAmount.increment();
+            batchesInFlight.release();
+            completed(batch.size());
+        }
+    }
+
+    private void completed(int notificationsAmount) {
+        synchronized (pendingLock) {
+            pendingAmount -= notificationsAmount;
+            if (pendingAmount == 0) {
+                pendingLock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package tracker.notification;
+
+import tracker.courses.Course;
+import tracker.courses.CourseProgressListener;
+
+import java.util.TreeSet;
+
+// Students who finished a course since the last notify, in ID order. A student is queued at the moment
+// their points cross the course maximum, so notify never has to look at anybody else.
+public class NotificationOutbox implements CourseProgressListener {
+
+    private final TreeSet<Integer> pendingStudents = new TreeSet<>();
+
+    @Override
+    public void onPointsAdded(int studentId, Course course, int previousPoints) {
+        if (previousPoints < course.MAX_POINTS && course.isFinished() && !course.isNotified()) {
+            enqueue(studentId);
+        }
+    }
+
+    public void recordCourse(int studentId, Course course) {
+        if (course.isFinished() && !course.isNotified()) {
+            enqueue(studentId);
+        }
+    }
+
+    private synchronized void enqueue(int studentId) {
+        pendingStudents.add(studentId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingStudents.isEmpty();
+    }
+
+    // Returns the queued student IDs in ascending order and empties the outbox.
+    public synchronized int[] drain() {
+        int[] studentIds = new int[pendingStudents.size()];
+        int i = 0;
+        for (int studentId : pendingStudents) {
+            studentIds[i++] = studentId;
+        }
+        pendingStudents.clear();
+        return studentIds;
+    }
+}
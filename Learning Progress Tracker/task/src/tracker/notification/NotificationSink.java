@@ -0,0 +1,22 @@
+package tracker.notification;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+public interface NotificationSink extends AutoCloseable {
+
+    // messages.get(i) is notifications.get(i) rendered through the dispatcher's template. Sets bit i of
+    // delivered once message i has been handed over for good, also when a later message then throws,
+    // so only the messages left unset are sent again.
+    void deliver(List<Notification> notifications, List<String> messages, BitSet delivered) throws IOException;
+
+    // Ordered sinks get their batches one at a time, in submission order.
+    default boolean isOrdered() {
+        return false;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+}
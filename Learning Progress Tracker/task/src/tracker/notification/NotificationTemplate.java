@@ -0,0 +1,86 @@
+package tracker.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A message text with {email}, {name}, {lastName} and {course} placeholders, split into literal and
+// placeholder parts once, so rendering is plain appends. Every \n becomes the platform line separator.
+public class NotificationTemplate {
+    private static final String[] PLACEHOLDERS = {"{email}", "{name}", "{lastName}", "{course}"};
+    private static final int LITERAL = -1;
+
+    public static final NotificationTemplate DEFAULT = new NotificationTemplate(
+            "To: {email}\nRe: Your Learning Progress\nHello, {name} {lastName}! You have accomplished our {course} course!\n");
+
+    private final String[] literals;
+    private final int[] parts;
+
+    public NotificationTemplate(String template) {
+        String text = template.replace("\n", System.lineSeparator());
+        List<String> literalsList = new ArrayList<>();
+        List<Integer> partsList = new ArrayList<>();
+
+        int start = 0;
+        int position = 0;
+        while (position < text.length()) {
+            int placeholder = placeholderAt(text, position);
+            if (placeholder == LITERAL) {
+                position++;
+                continue;
+            }
+
+            if (position > start) {
+                partsList.add(LITERAL);
+                literalsList.add(text.substring(start, position));
+            }
+            partsList.add(placeholder);
+            literalsList.add(null);
+            position += PLACEHOLDERS[placeholder].length();
+            start = position;
+        }
+        if (start < text.length()) {
+            partsList.add(LITERAL);
+            literalsList.add(text.substring(start));
+        }
+
+        this.literals = literalsList.toArray(new String[0]);
+        this.parts = partsList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int placeholderAt(String text, int position) {
+        for (int placeholder = 0; placeholder < PLACEHOLDERS.length; placeholder++) {
+            if (text.startsWith(PLACEHOLDERS[placeholder], position)) {
+                return placeholder;
+            }
+        }
+        return LITERAL;
+    }
+
+    public void render(Notification notification, StringBuilder sb) {
+        for (int i = 0; i < parts.length; i++) {
+            switch (parts[i]) {
+                case LITERAL:
+                    sb.append(literals[i]);
+                    break;
+                case 0:
+                    sb.append(notification.getEmail());
+                    break;
+                case 1:
+                    sb.append(notification.getName());
+                    break;
+                case 2:
+                    sb.append(notification.getLastName());
+                    break;
+                default:
+                    sb.append(notification.getCourseName());
+                    break;
+            }
+        }
+    }
+
+    public String render(Notification notification) {
+        StringBuilder sb = new StringBuilder();
+        render(notification, sb);
+        return sb.toString();
+    }
+}
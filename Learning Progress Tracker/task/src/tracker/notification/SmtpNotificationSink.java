@@ -0,0 +1,93 @@
+package tracker.notification;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+
+// Minimal SMTP client for a local relay or test mail server: one connection per batch,
+// one MAIL/RCPT/DATA transaction per message.
+public class SmtpNotificationSink implements NotificationSink {
+    private static final String SENDER = "tracker@localhost";
+
+    private final String host;
+    private final int port;
+
+    public SmtpNotificationSink(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications, List<String> messages, BitSet delivered)
+            throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new BufferedWriter(
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            expect(reader, 220);
+            command(writer, reader, "HELO localhost", 250);
+            for (int i = 0; i < messages.size(); i++) {
+                String email = notifications.get(i).getEmail();
+                if (containsControlCharacter(email)) {
+                    // Never sent, so the dispatcher reports it failed, but the rest of the batch still goes out.
+                    continue;
+                }
+                command(writer, reader, "MAIL FROM:<" + SENDER + ">", 250);
+                command(writer, reader, "RCPT TO:<" + email + ">", 250);
+                command(writer, reader, "DATA", 354);
+                command(writer, reader, toSmtpData(messages.get(i)) + ".", 250);
+                // The server has accepted the message, even if the session fails later.
+                delivered.set(i);
+            }
+            command(writer, reader, "QUIT", 221);
+        }
+    }
+
+    // A CR or LF would end the RCPT command early and start another one.
+    private static boolean containsControlCharacter(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c < ' ' || c == 0x7f) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // CRLF line endings, and a leading dot doubled so no line ends the data early.
+    private static String toSmtpData(String message) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : message.split("\r?\n")) {
+            if (line.startsWith(".")) {
+                sb.append('.');
+            }
+            sb.append(line).append("\r\n");
+        }
+        return sb.toString();
+    }
+
+    private static void command(Writer writer, BufferedReader reader, String line, int expectedCode)
+            throws IOException {
+        writer.write(line);
+        writer.write("\r\n");
+        writer.flush();
+        expect(reader, expectedCode);
+    }
+
+    private static void expect(BufferedReader reader, int expectedCode) throws IOException {
+        String reply;
+        do {
+            reply = reader.readLine();
+            if (reply == null) {
+                throw new IOException("SMTP server closed the connection");
+            }
+        } while (reply.length() > 3 && reply.charAt(3) == '-');
+
+        if (!reply.startsWith(String.valueOf(expectedCode))) {
+            throw new IOException("Unexpected SMTP reply: " + reply);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package tracker.output;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+// Collects output into 64 KiB chunks that a writer thread prints, so the session never waits for the stream
+// except on flush. Any thread may write: console notifications arrive from the dispatcher's delivery threads.
+public class AsyncOutputSink implements OutputSink {
+    private static final int BUFFER_CAPACITY = 1 << 16;
+    private static final int MAX_PENDING_CHUNKS = 8;
+    private static final Object END_OF_OUTPUT = new Object();
+
+    private final PrintStream stream;
+    private final BlockingQueue<Object> pendingChunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+    private final Thread writer;
+
+    private StringBuilder buffer = new StringBuilder(BUFFER_CAPACITY);
+    private boolean closed = false;
+
+    public AsyncOutputSink(PrintStream stream) {
+        this.stream = stream;
+        this.writer = new Thread(this::writeChunks, "output-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public synchronized void print(String text) {
+        // Nothing takes chunks off the queue after close, so late output is dropped.
+        if (closed) {
+            return;
+        }
+        buffer.append(text);
+        if (buffer.length() >= BUFFER_CAPACITY) {
+            handOff(buffer.toString());
+            buffer.setLength(0);
+        }
+    }
+
+    @Override
+    public synchronized void println(String line) {
+        if (closed) {
+            return;
+        }
+        buffer.append(line);
+        print(System.lineSeparator());
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+
+        if (buffer.length() > 0) {
+            handOff(buffer.toString());
+            buffer.setLength(0);
+        }
+
+        CountDownLatch flushed = new CountDownLatch(1);
+        handOff(flushed);
+        try {
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        if (!closed) {
+            closed = true;
+            handOff(END_OF_OUTPUT);
+        }
+    }
+
+    private void handOff(Object chunk) {
+        try {
+            pendingChunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeChunks() {
+        try {
+            while (true) {
+                Object chunk = pendingChunks.take();
+                if (chunk == END_OF_OUTPUT) {
+                    return;
+                } else if (chunk instanceof CountDownLatch) {
+                    stream.flush();
+                    ((CountDownLatch) chunk).countDown();
+                } else {
+                    stream.print((String) chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tracker.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes on the calling thread through a buffer, so a network session costs no extra thread.
+// Once the stream fails, for example because the client disconnected, output is dropped.
+public class BufferedOutputSink implements OutputSink {
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final Writer writer;
+    private boolean failed = false;
+
+    public BufferedOutputSink(OutputStream stream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public synchronized void print(String text) {
+        if (failed) {
+            return;
+        }
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            failed = true;
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (failed) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            failed = true;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            failed = true;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package tracker.output;
+
+public interface OutputSink extends AutoCloseable {
+
+    void print(String text);
+
+    default void println(String line) {
+        print(line + System.lineSeparator());
+    }
+
+    default void printf(String format, Object... args) {
+        print(String.format(format, args));
+    }
+
+    // Blocks until everything printed so far has reached the underlying stream.
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,102 @@
+package tracker.output;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Builds report text in one reusable buffer: left-aligned columns padded and truncated like "%-N.Ns",
+// and completion percentages rounded HALF_UP to one decimal, both without formatters or BigDecimal.
+// The output is the same as String.format of the value and Double.toString of the rounded percentage.
+public class ReportFormatter {
+    // From ten million percent on, Double.toString switches to scientific notation.
+    private static final long MAX_FIXED_POINT_TENTHS = 100_000_000L;
+
+    private final StringBuilder buffer;
+
+    public ReportFormatter() {
+        this(1 << 10);
+    }
+
+    public ReportFormatter(int capacity) {
+        this.buffer = new StringBuilder(capacity);
+    }
+
+    public ReportFormatter append(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    public ReportFormatter append(char c) {
+        buffer.append(c);
+        return this;
+    }
+
+    public ReportFormatter newLine() {
+        buffer.append(System.lineSeparator());
+        return this;
+    }
+
+    public ReportFormatter column(String text, int width) {
+        int columnStart = buffer.length();
+        buffer.append(text);
+        return pad(columnStart, width);
+    }
+
+    public ReportFormatter column(int value, int width) {
+        int columnStart = buffer.length();
+        buffer.append(value);
+        return pad(columnStart, width);
+    }
+
+    // The percentage followed by a percent sign, as one column.
+    public ReportFormatter percentColumn(int points, int maxPoints, int width) {
+        int columnStart = buffer.length();
+        appendPercent(buffer, points, maxPoints);
+        buffer.append('%');
+        return pad(columnStart, width);
+    }
+
+    public int length() {
+        return buffer.length();
+    }
+
+    public void clear() {
+        buffer.setLength(0);
+    }
+
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+    private ReportFormatter pad(int columnStart, int width) {
+        int columnEnd = columnStart + width;
+        if (buffer.length() > columnEnd) {
+            buffer.setLength(columnEnd);
+        }
+        while (buffer.length() < columnEnd) {
+            buffer.append(' ');
+        }
+        return this;
+    }
+
+    // The exact quotient is rounded in tenths of a percent. The double quotient can only round differently
+    // when the exact one lies on a .x5 tie, so ties, like negative or huge values, take the double path.
+    public static void appendPercent(StringBuilder sb, int points, int maxPoints) {
+        if (points >= 0 && maxPoints > 0) {
+            long doubledTenths = 2_000L * points;
+            long divisor = 2L * maxPoints;
+            long tenths = (doubledTenths + maxPoints) / divisor;
+            if (doubledTenths % divisor != maxPoints && tenths < MAX_FIXED_POINT_TENTHS) {
+                sb.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+                return;
+            }
+        }
+        sb.append(getPercent(points, maxPoints));
+    }
+
+    public static double getPercent(int points, int maxPoints) {
+        return BigDecimal.valueOf((double) points / maxPoints * 100)
+                .setScale(1, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+}
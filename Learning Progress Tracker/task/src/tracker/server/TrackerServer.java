@@ -0,0 +1,108 @@
+package tracker.server;
+
+import tracker.concurrent.VirtualThreads;
+import tracker.output.BufferedOutputSink;
+import tracker.output.OutputSink;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Accepts connections on a local port and runs one session per connection on its own virtual thread.
+public class TrackerServer implements AutoCloseable {
+    private static final int BACKLOG = 1 << 12;
+    private static final int INPUT_BUFFER_SIZE = 1 << 13;
+
+    private final ServerSocket serverSocket;
+    private final Session session;
+    private final ExecutorService sessions = VirtualThreads.newThreadPerTaskExecutor("tracker-session");
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    public interface Session {
+        // Serves one client until it leaves; the output is closed afterwards.
+        void run(InputStream in, OutputSink out) throws IOException;
+    }
+
+    // Port 0 picks a free port, see getPort.
+    public TrackerServer(int port, Session session) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.session = session;
+        this.acceptor = new Thread(this::acceptConnections, "tracker-server");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getSessionsAmount() {
+        return openSockets.size();
+    }
+
+    // Stops accepting, disconnects every client and waits for their sessions to end.
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+            acceptor.join();
+        } catch (IOException e) {
+            // nothing left to accept from
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Socket socket : openSockets) {
+            closeQuietly(socket);
+        }
+        sessions.shutdown();
+        try {
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                openSockets.add(socket);
+                sessions.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                // a failed handshake only concerns that client
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (OutputSink out = new BufferedOutputSink(socket.getOutputStream())) {
+            session.run(new BufferedInputStream(socket.getInputStream(), INPUT_BUFFER_SIZE), out);
+        } catch (IOException e) {
+            // the client is gone
+        } finally {
+            openSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package tracker.snapshot;
+
+import tracker.courses.Course;
+import tracker.courses.CourseCatalog;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Point-in-time image of all students. The file is a header, then one fixed-size record per student
+// in the order they were passed to save, then the UTF-8 names and emails those records point at:
+//   header: [int magic][int version][int studentsAmount][int nextID][long journalEntries][long stringsLength]
+//           [int coursesAmount]
+//   record: [int id][long stringsPosition][int nameLength][int lastNameLength][int emailLength]
+//           and for every course in ordinal order: [int points][int completedTasksAmount][byte flags]
+// Fixed-size records let every slice of the file be mapped and decoded independently.
+public class Snapshot {
+    private static final int MAGIC = 0x4C505453;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = Integer.BYTES * 5 + Long.BYTES * 2;
+    private static final int COURSE_SIZE = Integer.BYTES * 2 + 1;
+    private static final int STUDENT_SIZE = Integer.BYTES * 4 + Long.BYTES;
+
+    private static final byte ENROLLED = 1;
+    private static final byte FINISHED = 2;
+    private static final byte NOTIFIED = 4;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int STUDENTS_PER_SLICE = 1 << 16;
+
+    private final Student[] students;
+    private final long journalEntries;
+
+    private Snapshot(Student[] students, long journalEntries) {
+        this.students = students;
+        this.journalEntries = journalEntries;
+    }
+
+    // Students in the order they were saved; the tracker saves them in ID order.
+    public Student[] getStudents() {
+        return students;
+    }
+
+    // Number of journal records already reflected in this snapshot.
+    public long getJournalEntries() {
+        return journalEntries;
+    }
+
+    // Writes to a temporary file first, so a crash never leaves a half-written snapshot behind.
+    public static void save(Path path, CourseCatalog catalog, Collection<Student> students, int nextID,
+                            long journalEntries) throws IOException {
+        int coursesAmount = catalog.size();
+        int recordSize = recordSize(coursesAmount);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer records = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteBuffer strings = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long stringsStart = HEADER_SIZE + (long) students.size() * recordSize;
+            long recordsPosition = HEADER_SIZE;
+            long stringsPosition = stringsStart;
+
+            for (Student student : students) {
+                byte[] name = student.getName().getBytes(StandardCharsets.UTF_8);
+                byte[] lastName = student.getLastName().getBytes(StandardCharsets.UTF_8);
+                byte[] email = student.getEmail().getBytes(StandardCharsets.UTF_8);
+
+                if (records.remaining() < recordSize) {
+                    recordsPosition += write(channel, records, recordsPosition);
+                }
+                records.putInt(student.getID());
+                records.putLong(stringsPosition + strings.position());
+                records.putInt(name.length);
+                records.putInt(lastName.length);
+                records.putInt(email.length);
+                for (int ordinal = 0; ordinal < coursesAmount; ordinal++) {
+                    putCourse(records, student.getCourse(ordinal));
+                }
+
+                for (byte[] bytes : new byte[][]{name, lastName, email}) {
+                    if (strings.remaining() < bytes.length) {
+                        stringsPosition += write(channel, strings, stringsPosition);
+                    }
+                    if (bytes.length > strings.capacity()) {
+                        stringsPosition += writeFully(channel, ByteBuffer.wrap(bytes), stringsPosition);
+                    } else {
+                        strings.put(bytes);
+                    }
+                }
+            }
+            write(channel, records, recordsPosition);
+            stringsPosition += write(channel, strings, stringsPosition);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(students.size());
+            header.putInt(nextID);
+            header.putLong(journalEntries);
+            header.putLong(stringsPosition - stringsStart);
+            header.putInt(coursesAmount);
+            write(channel, header, 0);
+            channel.force(true);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Maps the file and decodes slices of it on all cores. The students are created through the factory,
+    // so they report to its listeners from now on, but the listeners themselves are not told about
+    // the restored points: the caller rebuilds its indexes from the returned students. Courses are matched
+    // by ordinal, so the factory's catalog must start with the courses the snapshot was saved with.
+    public static Snapshot load(Path path, StudentFactory studentFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a snapshot: " + path);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a snapshot: " + path);
+            }
+            int studentsAmount = header.getInt();
+            int nextID = header.getInt();
+            long journalEntries = header.getLong();
+            long stringsLength = header.getLong();
+            int coursesAmount = header.getInt();
+            if (coursesAmount < 0 || coursesAmount > studentFactory.getCatalog().size()) {
+                throw new IOException("Snapshot has more courses than the catalog: " + path);
+            }
+
+            Layout layout = new Layout(coursesAmount);
+            long stringsEnd = HEADER_SIZE + (long) studentsAmount * layout.recordSize + stringsLength;
+            if (studentsAmount < 0 || stringsEnd > channel.size()) {
+                throw new IOException("Truncated snapshot: " + path);
+            }
+
+            studentFactory.restoreNextID(nextID);
+            Student[] students = new Student[studentsAmount];
+            decodeInParallel(channel, layout, students, stringsEnd, studentFactory);
+            return new Snapshot(students, journalEntries);
+        }
+    }
+
+    private static void decodeInParallel(FileChannel channel, Layout layout, Student[] students, long stringsEnd,
+                                         StudentFactory studentFactory) throws IOException {
+        ExecutorService decoders = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (int from = 0; from < students.length; from += STUDENTS_PER_SLICE) {
+                int sliceStart = from;
+                int sliceEnd = Math.min(students.length, from + STUDENTS_PER_SLICE);
+                slices.add(decoders.submit(() -> {
+                    decodeSlice(channel, layout, students, sliceStart, sliceEnd, stringsEnd, studentFactory);
+                    return null;
+                }));
+            }
+
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading snapshot", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Corrupted snapshot", e.getCause());
+        } finally {
+            decoders.shutdownNow();
+        }
+    }
+
+    private static void decodeSlice(FileChannel channel, Layout layout, Student[] students, int from, int to,
+                                    long stringsEnd, StudentFactory studentFactory) throws IOException {
+        MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + (long) from * layout.recordSize, (long) (to - from) * layout.recordSize);
+
+        long sliceStringsStart = records.getLong(Integer.BYTES);
+        long sliceStringsEnd = to == students.length
+                ? stringsEnd
+                : readLong(channel, HEADER_SIZE + (long) to * layout.recordSize + Integer.BYTES);
+        MappedByteBuffer strings = channel.map(FileChannel.MapMode.READ_ONLY,
+                sliceStringsStart, sliceStringsEnd - sliceStringsStart);
+
+        CourseCatalog catalog = studentFactory.getCatalog();
+        byte[] bytes = new byte[256];
+        for (int i = from; i < to; i++) {
+            int id = records.getInt();
+            strings.position((int) (records.getLong() - sliceStringsStart));
+            int nameLength = records.getInt();
+            int lastNameLength = records.getInt();
+            int emailLength = records.getInt();
+
+            int stringsLength = nameLength + lastNameLength + emailLength;
+            if (bytes.length < stringsLength) {
+                bytes = new byte[stringsLength];
+            }
+            strings.get(bytes, 0, stringsLength);
+            Student student = studentFactory.recreateStudent(id,
+                    new String(bytes, 0, nameLength, StandardCharsets.UTF_8),
+                    new String(bytes, nameLength, lastNameLength, StandardCharsets.UTF_8),
+                    new String(bytes, nameLength + lastNameLength, emailLength, StandardCharsets.UTF_8));
+
+            for (int ordinal = 0; ordinal < layout.coursesAmount; ordinal++) {
+                int points = records.getInt();
+                int completedTasksAmount = records.getInt();
+                byte flags = records.get();
+                if ((flags & ENROLLED) != 0) {
+                    Course course = catalog.newCourse(ordinal, points);
+                    course.restoreProgress(completedTasksAmount, (flags & FINISHED) != 0, (flags & NOTIFIED) != 0);
+                    student.restoreCourse(course);
+                }
+            }
+            students[i] = student;
+        }
+    }
+
+    private static void putCourse(ByteBuffer records, Course course) {
+        if (course == null) {
+            records.putInt(0);
+            records.putInt(0);
+            records.put((byte) 0);
+            return;
+        }
+
+        records.putInt(course.getPoints());
+        records.putInt(course.getCompletedTasksAmount());
+        records.put((byte) (ENROLLED
+                | (course.isFinished() ? FINISHED : 0)
+                | (course.isNotified() ? NOTIFIED : 0)));
+    }
+
+    private static int recordSize(int coursesAmount) {
+        return STUDENT_SIZE + COURSE_SIZE * coursesAmount;
+    }
+
+    private static long readLong(FileChannel channel, long position) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(Long.BYTES);
+        while (value.hasRemaining()) {
+            if (channel.read(value, position + value.position()) < 0) {
+                throw new IOException("Truncated snapshot");
+            }
+        }
+        return value.getLong(0);
+    }
+
+    // Writes what was put into the buffer and empties it for reuse.
+    private static int write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int written = writeFully(channel, buffer, position);
+        buffer.clear();
+        return written;
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        int written = 0;
+        while (bytes.hasRemaining()) {
+            written += channel.write(bytes, position + written);
+        }
+        return written;
+    }
+
+    private static class Layout {
+        final int coursesAmount;
+        final int recordSize;
+
+        Layout(int coursesAmount) {
+            this.coursesAmount = coursesAmount;
+            this.recordSize = recordSize(coursesAmount);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package tracker.student;
+
+public class Credentials {
+    private final String name;
+    private final String lastName;
+    private final String email;
+
+    Credentials(String name, String lastName, String email) {
+        this.name = name;
+        this.lastName = lastName;
+        this.email = email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,109 @@
+package tracker.student;
+
+public class CredentialsParser {
+    public static final String INCORRECT_CREDENTIALS = "Incorrect credentials.";
+    public static final String INCORRECT_FIRST_NAME = "Incorrect first name.";
+    public static final String INCORRECT_LAST_NAME = "Incorrect last name.";
+    public static final String INCORRECT_EMAIL = "Incorrect email.";
+
+    private static final int NAME_START = 0;
+    private static final int NAME_LETTER = 1;
+    private static final int NAME_SEPARATOR = 2;
+
+    private static final int EMAIL_LOCAL_PART = 0;
+    private static final int EMAIL_DOMAIN = 1;
+    private static final int EMAIL_TOP_LEVEL_DOMAIN = 2;
+
+    private CredentialsParser() {
+    }
+
+    public static Credentials parse(String credentials) throws IllegalArgumentException {
+        String error = findError(credentials);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        int firstSpace = credentials.indexOf(' ');
+        int lastSpace = credentials.lastIndexOf(' ');
+        return new Credentials(
+                credentials.substring(0, firstSpace),
+                credentials.substring(firstSpace + 1, lastSpace),
+                credentials.substring(lastSpace + 1));
+    }
+
+    // Returns the message the tracker prints for invalid credentials, or null if they are valid.
+    public static String findError(String credentials) {
+        int end = credentials.length();
+        while (end > 0 && credentials.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        int firstSpace = credentials.indexOf(' ');
+        int secondSpace = firstSpace < 0 ? -1 : credentials.indexOf(' ', firstSpace + 1);
+        if (secondSpace < 0 || secondSpace >= end) {
+            return INCORRECT_CREDENTIALS;
+        }
+
+        int lastSpace = credentials.lastIndexOf(' ');
+        if (!isNameCorrect(credentials, 0, firstSpace)) {
+            return INCORRECT_FIRST_NAME;
+        } else if (!isNameCorrect(credentials, firstSpace + 1, lastSpace)) {
+            return INCORRECT_LAST_NAME;
+        } else if (!isEmailCorrect(credentials, lastSpace + 1, credentials.length())) {
+            return INCORRECT_EMAIL;
+        }
+        return null;
+    }
+
+    // Spaces are ignored, so multi-word last names are validated as one word.
+    private static boolean isNameCorrect(String credentials, int from, int to) {
+        int state = NAME_START;
+        int length = 0;
+
+        for (int i = from; i < to; i++) {
+            char c = credentials.charAt(i);
+            if (c == ' ') {
+                continue;
+            }
+
+            if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+                state = NAME_LETTER;
+            } else if ((c == '-' || c == '\'') && state == NAME_LETTER) {
+                state = NAME_SEPARATOR;
+            } else {
+                return false;
+            }
+            length++;
+        }
+        return length >= 2 && state == NAME_LETTER;
+    }
+
+    // Accepts "local@domain.tld" where only the local part may contain dots. Control characters are
+    // rejected, since the email ends up in notification headers and SMTP commands.
+    private static boolean isEmailCorrect(String credentials, int from, int to) {
+        int state = EMAIL_LOCAL_PART;
+        int partLength = 0;
+
+        for (int i = from; i < to; i++) {
+            char c = credentials.charAt(i);
+            if (c < ' ' || c == 0x7f) {
+                return false;
+            } else if (c == '@') {
+                if (state != EMAIL_LOCAL_PART || partLength == 0) {
+                    return false;
+                }
+                state = EMAIL_DOMAIN;
+                partLength = 0;
+            } else if (c == '.' && state != EMAIL_LOCAL_PART) {
+                if (state != EMAIL_DOMAIN || partLength == 0) {
+                    return false;
+                }
+                state = EMAIL_TOP_LEVEL_DOMAIN;
+                partLength = 0;
+            } else {
+                partLength++;
+            }
+        }
+        return state == EMAIL_TOP_LEVEL_DOMAIN && partLength > 0;
+    }
+}
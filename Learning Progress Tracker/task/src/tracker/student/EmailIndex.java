@@ -0,0 +1,28 @@
+package tracker.student;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EmailIndex {
+
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+
+    public boolean contains(String email) {
+        return emails.contains(normalize(email));
+    }
+
+    // Atomically claims the email; returns false if it was already taken.
+    public boolean add(String email) {
+        return emails.add(normalize(email));
+    }
+
+    // Gives back an email claimed by a registration that did not go through.
+    public void remove(String email) {
+        emails.remove(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
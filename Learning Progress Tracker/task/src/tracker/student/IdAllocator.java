@@ -0,0 +1,174 @@
+package tracker.student;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hands out student IDs from contiguous blocks reserved per thread, so registering threads only
+// meet on one compare-and-set per block. IDs of a single thread stay consecutive; IDs of different
+// threads may interleave and leave gaps, but are never handed out twice. A thread that stops registering,
+// such as a finished network session, gives the rest of its block back, and the next block reserved
+// by any thread is taken from the given-back ones first.
+//
+// With a mark file the allocator leases IDs ahead of the high-water mark and stores the end of the
+// lease before handing any of them out, so a restarted process continues after the stored lease.
+public class IdAllocator {
+    public static final int FIRST_ID = 1_000_000;
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    private static final int BLOCKS_PER_LEASE = 1024;
+
+    private final int blockSize;
+    private final Path markFile;
+    private final AtomicLong highWaterMark;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private final ConcurrentLinkedDeque<Block> returnedBlocks = new ConcurrentLinkedDeque<>();
+    private volatile long leaseEnd;
+
+    public IdAllocator() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Incorrect ID block size");
+        }
+        this.blockSize = blockSize;
+        this.markFile = null;
+        this.highWaterMark = new AtomicLong(FIRST_ID);
+        this.leaseEnd = Long.MAX_VALUE;
+    }
+
+    // Continues after the mark stored in markFile, or at FIRST_ID if there is no such file yet.
+    public IdAllocator(int blockSize, Path markFile) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Incorrect ID block size");
+        }
+        this.blockSize = blockSize;
+        this.markFile = markFile;
+        long mark = Files.exists(markFile) ? readMark(markFile) : FIRST_ID;
+        this.highWaterMark = new AtomicLong(mark);
+        this.leaseEnd = mark;
+    }
+
+    public int nextId() {
+        Block block = blocks.get();
+        if (block.next == block.end || block.generation != generation.get()) {
+            reserve(block);
+        }
+        return (int) block.next++;
+    }
+
+    // The lowest ID that no thread has reserved yet.
+    public long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    // Gives the rest of the calling thread's block back. If no other block was reserved after it, the rest
+    // goes back below the high-water mark, so a single-threaded caller sees the exact next ID in getHighWaterMark;
+    // otherwise it is kept for the next block any thread reserves.
+    public void releaseUnusedIds() {
+        Block block = blocks.get();
+        if (block.next < block.end && block.generation == generation.get()
+                && !highWaterMark.compareAndSet(block.end, block.next)) {
+            Block rest = new Block();
+            rest.next = block.next;
+            rest.end = block.end;
+            rest.generation = block.generation;
+            returnedBlocks.push(rest);
+        }
+        blocks.remove();
+    }
+
+    // Moves the high-water mark up to nextId and drops every block reserved or given back below it.
+    public void raiseHighWaterMark(long nextId) {
+        highWaterMark.accumulateAndGet(nextId, Math::max);
+        generation.incrementAndGet();
+        if (nextId > leaseEnd) {
+            extendLease(nextId);
+        }
+    }
+
+    private void reserve(Block block) {
+        block.generation = generation.get();
+        Block returned;
+        while ((returned = returnedBlocks.poll()) != null) {
+            // Blocks given back before the high-water mark was raised may lie below it.
+            if (returned.generation == block.generation) {
+                block.next = returned.next;
+                block.end = returned.end;
+                return;
+            }
+        }
+        while (true) {
+            long start = highWaterMark.get();
+            long end = Math.min(start + blockSize, (long) Integer.MAX_VALUE + 1);
+            if (start == end) {
+                throw new IllegalStateException("No more student IDs left");
+            }
+            if (end > leaseEnd) {
+                extendLease(end);
+            }
+            if (highWaterMark.compareAndSet(start, end)) {
+                block.next = start;
+                block.end = end;
+                return;
+            }
+        }
+    }
+
+    private synchronized void extendLease(long end) {
+        if (end <= leaseEnd) {
+            return;
+        }
+
+        long newLeaseEnd = Math.min(end + (long) blockSize * BLOCKS_PER_LEASE, (long) Integer.MAX_VALUE + 1);
+        try {
+            writeMark(markFile, newLeaseEnd);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot store the student ID mark", e);
+        }
+        leaseEnd = newLeaseEnd;
+    }
+
+    private static long readMark(Path markFile) throws IOException {
+        String mark = new String(Files.readAllBytes(markFile), StandardCharsets.US_ASCII).trim();
+        try {
+            long value = Long.parseLong(mark);
+            if (value < FIRST_ID || value > (long) Integer.MAX_VALUE + 1) {
+                throw new IOException("student ID mark out of range: " + mark);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IOException("not a student ID mark: " + mark);
+        }
+    }
+
+    private static void writeMark(Path markFile, long mark) throws IOException {
+        Path temporary = markFile.resolveSibling(markFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap((mark + System.lineSeparator()).getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, markFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class Block {
+        long next;
+        long end;
+        int generation = -1;
+    }
+}
@@ -2,23 +2,34 @@ package tracker.student;
 
 import tracker.courses.*;
 
-import java.util.LinkedHashMap;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class Student {
-
     private final int ID;
     private final String name;
     private final String lastName;
     private final String email;
 
-    private final Map<String, Course> courses = new LinkedHashMap<>();
+    // Indexed by course ordinal; null until the first update enrolls the student.
+    private final CourseCatalog catalog;
+    private final Course[] courses;
+    private int enrolledCoursesAmount = 0;
+    private final CourseProgressListener[] progressListeners;
 
-    Student(String name, String lastName, String email, int id) {
+    Student(String name, String lastName, String email, int id, CourseCatalog catalog,
+            CourseProgressListener[] progressListeners) {
         this.name = name;
         this.lastName = lastName;
         this.email = email;
         this.ID = id;
+        this.catalog = catalog;
+        this.courses = new Course[catalog.size()];
+        this.progressListeners = progressListeners;
     }
 
     public String getName() {
@@ -37,30 +48,62 @@ public class Student {
         return email;
     }
 
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    // Returns null if the student is not enrolled in the course.
+    public Course getCourse(int ordinal) {
+        return courses[ordinal];
+    }
+
+    // Read-only view in ordinal order, for callers that only have a course name.
     public Map<String, Course> getCourses() {
-        return courses;
+        return new CoursesView();
     }
 
-    public void addPoints(int java, int dsa, int databases, int spring) {
-        Course[] newCourses = new Course[]{
-                new JavaCourse(java),
-                new DSACourse(dsa),
-                new DatabasesCourse(databases),
-                new SpringCourse(spring)
-        };
+    // One value per course, in ordinal order. Courses are created once, on the first update;
+    // after that points are added in place and nothing is allocated.
+    public void addPoints(int... points) {
+        if (points.length != courses.length) {
+            throw new IllegalArgumentException("Incorrect points format");
+        }
+        if (enrolledCoursesAmount < courses.length) {
+            enroll();
+        }
 
-        for (Course newCourse : newCourses) {
-            addPointsOrCreateCourse(newCourse);
+        for (int ordinal = 0; ordinal < courses.length; ordinal++) {
+            addPoints(courses[ordinal], points[ordinal]);
         }
     }
 
-    private void addPointsOrCreateCourse(Course newCourse) {
-        courses.merge(newCourse.NAME, newCourse, (oldValue, newValue) -> {
-            if (newValue.getPoints() != 0) {
-                oldValue.setPoints(newValue.getPoints() + oldValue.getPoints());
+    private void enroll() {
+        for (int ordinal = 0; ordinal < courses.length; ordinal++) {
+            if (courses[ordinal] == null) {
+                courses[ordinal] = catalog.newCourse(ordinal, 0);
             }
-            return oldValue;
-        });
+        }
+        enrolledCoursesAmount = courses.length;
+    }
+
+    // Puts back a course saved by an earlier run; listeners are rebuilt separately.
+    public void restoreCourse(Course course) {
+        if (courses[course.ORDINAL] == null) {
+            enrolledCoursesAmount++;
+        }
+        courses[course.ORDINAL] = course;
+    }
+
+    private void addPoints(Course course, int points) {
+        if (points == 0) {
+            return;
+        }
+
+        int previousPoints = course.getPoints();
+        course.setPoints(previousPoints + points);
+        for (CourseProgressListener listener : progressListeners) {
+            listener.onPointsAdded(ID, course, previousPoints);
+        }
     }
 
     @Override
@@ -69,7 +112,7 @@ public class Student {
         result = 31 * result + name.hashCode();
         result = 31 * result + lastName.hashCode();
         result = 31 * result + email.hashCode();
-        result = 31 * result + courses.hashCode();
+        result = 31 * result + Arrays.hashCode(courses);
         return result;
     }
 
@@ -84,11 +127,36 @@ public class Student {
         if (!name.equals(student.name)) return false;
         if (!lastName.equals(student.lastName)) return false;
         if (!email.equals(student.email)) return false;
-        return courses.equals(student.courses);
+        return Arrays.equals(courses, student.courses);
     }
 
     @Override
     public String toString() {
         return String.valueOf(ID);
     }
+
+    private class CoursesView extends AbstractMap<String, Course> {
+
+        @Override
+        public Course get(Object courseName) {
+            int ordinal = courseName instanceof String ? catalog.ordinalOf((String) courseName) : -1;
+            return ordinal < 0 ? null : courses[ordinal];
+        }
+
+        @Override
+        public boolean containsKey(Object courseName) {
+            return get(courseName) != null;
+        }
+
+        @Override
+        public Set<Entry<String, Course>> entrySet() {
+            Set<Entry<String, Course>> entries = new LinkedHashSet<>();
+            for (Course course : courses) {
+                if (course != null) {
+                    entries.add(new SimpleImmutableEntry<>(course.NAME, course));
+                }
+            }
+            return Collections.unmodifiableSet(entries);
+        }
+    }
 }
\ No newline at end of file
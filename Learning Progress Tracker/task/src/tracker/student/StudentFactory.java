@@ -1,9 +1,59 @@
 package tracker.student;
 
+import tracker.courses.CourseCatalog;
+import tracker.courses.CourseProgressListener;
+
 public class StudentFactory {
-    private int nextID = 1_000_000;
+    private final CourseCatalog catalog;
+    private final CourseProgressListener[] progressListeners;
+    private final IdAllocator idAllocator;
+
+    public StudentFactory(CourseProgressListener... progressListeners) {
+        this(new IdAllocator(), progressListeners);
+    }
+
+    public StudentFactory(IdAllocator idAllocator, CourseProgressListener... progressListeners) {
+        this(CourseCatalog.DEFAULT, idAllocator, progressListeners);
+    }
+
+    public StudentFactory(CourseCatalog catalog, IdAllocator idAllocator, CourseProgressListener... progressListeners) {
+        this.catalog = catalog;
+        this.idAllocator = idAllocator;
+        this.progressListeners = progressListeners;
+    }
+
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
 
     public Student getStudent(String name, String lastName, String email) {
-        return new Student(name, lastName, email, this.nextID++);
+        return new Student(name, lastName, email, idAllocator.nextId(), catalog, progressListeners);
+    }
+
+    // Called by a thread that registers no more students, so the IDs it reserved go to other threads.
+    public void releaseUnusedIds() {
+        idAllocator.releaseUnusedIds();
+    }
+
+    // The first ID no student can have yet; exact if students were only created on the calling thread.
+    public int getNextID() {
+        releaseUnusedIds();
+        return (int) idAllocator.getHighWaterMark();
+    }
+
+    // Recreates a student registered in an earlier run; later students never reuse its ID.
+    public Student restoreStudent(int id, String name, String lastName, String email) {
+        restoreNextID(id + 1);
+        return recreateStudent(id, name, lastName, email);
+    }
+
+    public void restoreNextID(int nextID) {
+        idAllocator.raiseHighWaterMark(nextID);
+    }
+
+    // Like restoreStudent, but leaves the next ID alone, so it may be called from many threads
+    // once restoreNextID has covered every recreated ID.
+    public Student recreateStudent(int id, String name, String lastName, String email) {
+        return new Student(name, lastName, email, id, catalog, progressListeners);
     }
 }
\ No newline at end of file
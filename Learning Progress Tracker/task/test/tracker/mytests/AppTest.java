@@ -6,9 +6,24 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import tracker.App;
+import tracker.engine.TrackerEngine;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+import tracker.metrics.Metrics;
+import tracker.output.BufferedOutputSink;
 import tracker.student.Student;
 import tracker.student.StudentFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -87,6 +102,16 @@ class AppTest {
         assertEquals("This email is already taken.", exception.getMessage());
     }
 
+    @Test
+    void validateStudentCredentials_EmailTakenInOtherCase_ThrowsIllegalArgumentException() {
+        app.tryToAddStudent("name surname email@email.xyz");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                app.validateStudentCredentials("name surname Email@EMAIL.xyz"));
+
+        assertEquals("This email is already taken.", exception.getMessage());
+    }
+
     @Test
     void tryToAddPoints_AddFirstPointsProperly_PointsAdded() {
         Student student = studentFactory.getStudent("John", "Smith", "john@john.john");
@@ -132,4 +157,130 @@ class AppTest {
                 () -> assertTrue(student.getCourses().get("Spring").isFinished())
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void importStudents_FileWithValidAndInvalidLines_OnlyValidStudentsAdded() throws IOException {
+        Path file = Files.createTempFile("students", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, List.of("John Smith jsmith@hotmail.com", "", "n surname email@email.xyz",
+                "Anny Doolittle anny.md@mail.edu", "Anny Doolittle ANNY.md@mail.edu"));
+
+        app.importStudents(file.toString());
+
+        assertEquals(2, app.studentsList.size());
+    }
+
+    @Test
+    void importPoints_FileWithValidAndInvalidLines_ValidPointsAddedInOrder() throws IOException {
+        Student student = studentFactory.getStudent("John", "Smith", "john@john.john");
+        app.studentsList.put(1_000_000, student);
+        Path file = Files.createTempFile("points", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, List.of("1000000 600 1 2 3", "1000000 -1 1 1 1", "1000000 1 1 1",
+                "1000001 1 1 1 1", "abc 1 1 1 1", "1000000 0 100 0 0"));
+
+        app.importPoints(file.toString());
+
+        assertAll(
+                () -> assertEquals(600, student.getCourses().get("Java").getPoints()),
+                () -> assertEquals(101, student.getCourses().get("DSA").getPoints()),
+                () -> assertEquals(2, student.getCourses().get("Databases").getPoints()),
+                () -> assertEquals(3, student.getCourses().get("Spring").getPoints()),
+                () -> assertTrue(student.getCourses().get("Java").isFinished())
+        );
+    }
+
+    @Test
+    void runScript_CommandsAndSessions_SameOutputAsTypedAndLinesCounted() {
+        String script = "add students\nJohn Smith jsmith@hotmail.com\nback\n"
+                + "add points\n1000000 5 0 0 0\nback\nexit\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        App scriptApp = new App(new TrackerEngine(), InputStream.nullInputStream(), new BufferedOutputSink(output));
+
+        scriptApp.runScript(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+
+        String lineSeparator = System.lineSeparator();
+        assertEquals(String.join(lineSeparator, "Learning Progress Tracker",
+                "Enter student credentials or 'back' to return:", "The student has been added",
+                "Total 1 students have been added.", "Enter an id and points or 'back' to return:",
+                "Points updated", "Bye!") + lineSeparator, output.toString(StandardCharsets.UTF_8));
+        assertEquals(7, scriptApp.getLinesRead());
+    }
+
+    @Test
+    void runScript_NotificationsCannotBeDelivered_FailuresReportedAndRetried() throws IOException {
+        int closedPort;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            closedPort = serverSocket.getLocalPort();
+        }
+        String script = "add students\nJohn Smith jsmith@hotmail.com\nback\n"
+                + "add points\n1000000 600 0 0 0\nback\nnotify\nnotify\nexit\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TrackerEngine engine = new TrackerEngine();
+        App scriptApp = new App(engine, InputStream.nullInputStream(), new BufferedOutputSink(output));
+        scriptApp.configureNotifications("smtp:localhost:" + closedPort, 64, 0);
+
+        scriptApp.runScript(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+
+        String notifyOutput = "Total 1 students have been notified." + System.lineSeparator()
+                + "1 notifications could not be delivered and will be retried on the next notify."
+                + System.lineSeparator();
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains(notifyOutput + notifyOutput));
+        assertEquals(2, engine.getMetrics().getCount(Metrics.NOTIFICATION_FAILURES));
+        assertEquals(2, engine.getMetrics().getNotificationHistogram("smtp").getCount());
+    }
+
+    @Test
+    void runScript_JournalCannotBeWritten_CommandsFailAndSessionGoesOn() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        file.toFile().deleteOnExit();
+        TrackerEngine engine = new TrackerEngine();
+        Journal journal = Journal.open(file, DurabilityMode.SYNC, engine.getJournalReplayer());
+        engine.setJournal(journal);
+        engine.register("John", "Smith", "jsmith@hotmail.com");
+        journal.close();
+        String script = "add students\nAnny Doolittle anny.md@mail.edu\nback\n"
+                + "add points\n1000000 5 0 0 0\nback\nlist\nexit\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        App scriptApp = new App(engine, InputStream.nullInputStream(), new BufferedOutputSink(output));
+
+        scriptApp.runScript(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+
+        String lineSeparator = System.lineSeparator();
+        String journalFailure = "Cannot write journal: java.nio.channels.ClosedChannelException" + lineSeparator;
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertAll(
+                () -> assertTrue(printed.contains(journalFailure + "Total 0 students have been added.")),
+                () -> assertTrue(printed.contains("Enter an id and points or 'back' to return:" + lineSeparator
+                        + journalFailure)),
+                () -> assertTrue(printed.endsWith("1000000" + lineSeparator + "Bye!" + lineSeparator)),
+                () -> assertFalse(engine.isEmailTaken("anny.md@mail.edu")),
+                () -> assertNull(engine.findStudent(1_000_000).getCourse(0))
+        );
+    }
+
+    @Test
+    void runScript_ScriptCannotBeRead_OutputAndJournalClosed() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        file.toFile().deleteOnExit();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        App scriptApp = new App(new TrackerEngine(), InputStream.nullInputStream(), new BufferedOutputSink(output));
+        scriptApp.openJournal(file, DurabilityMode.BATCH);
+        byte[] readable = "add students\nJohn Smith jsmith@hotmail.com\n".getBytes(StandardCharsets.UTF_8);
+        InputStream script = new SequenceInputStream(new ByteArrayInputStream(readable),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Input/output error");
+                    }
+                });
+
+        assertThrows(UncheckedIOException.class, () -> scriptApp.runScript(script));
+
+        TrackerEngine restored = new TrackerEngine();
+        Journal.open(file, DurabilityMode.NONE, restored.getJournalReplayer()).close();
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("The student has been added"
+                + System.lineSeparator()));
+        assertTrue(restored.isEmailTaken("jsmith@hotmail.com"));
+    }
+}
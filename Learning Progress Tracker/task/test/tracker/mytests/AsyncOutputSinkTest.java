@@ -0,0 +1,82 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.output.AsyncOutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncOutputSinkTest {
+    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    private final AsyncOutputSink out = new AsyncOutputSink(new PrintStream(stream, true, StandardCharsets.UTF_8));
+
+    @Test
+    void print_LessThanChunk_WrittenOnlyOnFlush() {
+        out.print("Learning ");
+        out.println("Progress Tracker");
+        assertEquals(0, stream.size());
+
+        out.flush();
+
+        assertEquals("Learning Progress Tracker" + System.lineSeparator(), written());
+    }
+
+    @Test
+    void print_MoreThanChunk_HandedOffWithoutFlush() throws InterruptedException {
+        String line = "x".repeat(1 << 10);
+        for (int i = 0; i < 64; i++) {
+            out.print(line);
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stream.size() < 64 * line.length() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(64 * line.length(), stream.size());
+    }
+
+    @Test
+    void close_PendingOutput_DrainedAndLaterOutputDropped() {
+        out.println("Bye!");
+        out.close();
+        out.println("after close");
+        out.flush();
+
+        assertEquals("Bye!" + System.lineSeparator(), written());
+    }
+
+    @Test
+    void println_ManyThreads_NoLineLostOrTorn() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String line = String.valueOf(i).repeat(20);
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 5_000; j++) {
+                    out.println(line);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        out.close();
+
+        String[] lines = written().split(System.lineSeparator());
+        assertEquals(8 * 5_000, lines.length);
+        for (String line : lines) {
+            assertEquals(String.valueOf(line.charAt(0)).repeat(20), line);
+        }
+    }
+
+    private String written() {
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+}
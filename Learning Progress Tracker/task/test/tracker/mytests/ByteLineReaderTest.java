@@ -0,0 +1,72 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.input.ByteLineReader;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteLineReaderTest {
+
+    @Test
+    void nextLine_LinesLongerThanBuffer_SameAsScanner() {
+        String text = "add students\nJohn Smith jsmith@hotmail.com\n\n" + "x".repeat(100) + "\nback\r\nexit";
+
+        assertEquals(scannerLines(text), readerLines(text, 7));
+        assertEquals(scannerLines(text), readerLines(text, ByteLineReader.DEFAULT_BUFFER_SIZE));
+    }
+
+    @Test
+    void nextLine_MultiByteCharactersAcrossBufferEnd_DecodedWhole() {
+        String text = "J\u00fcrgen \u014ctsuka ju@mail.de\n\u0401\u0436 \u0426\u044b ez@mail.ru\n";
+
+        for (int bufferSize = 1; bufferSize <= 8; bufferSize++) {
+            assertEquals(scannerLines(text), readerLines(text, bufferSize));
+        }
+    }
+
+    @Test
+    void nextLine_EndOfInput_ThrowsNoSuchElementException() {
+        ByteLineReader reader = new ByteLineReader(stream("last\n"), 4);
+
+        assertEquals("last", reader.nextLine());
+        assertThrows(NoSuchElementException.class, reader::nextLine);
+        assertThrows(NoSuchElementException.class, new ByteLineReader(stream(""))::nextLine);
+    }
+
+    @Test
+    void constructor_EmptyBuffer_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ByteLineReader(stream(""), 0));
+    }
+
+    private static List<String> readerLines(String text, int bufferSize) {
+        ByteLineReader reader = new ByteLineReader(stream(text), bufferSize);
+        List<String> lines = new ArrayList<>();
+        try {
+            while (true) {
+                lines.add(reader.nextLine());
+            }
+        } catch (NoSuchElementException e) {
+            return lines;
+        }
+    }
+
+    private static List<String> scannerLines(String text) {
+        Scanner scanner = new Scanner(stream(text), StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        while (scanner.hasNextLine()) {
+            lines.add(scanner.nextLine());
+        }
+        return lines;
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
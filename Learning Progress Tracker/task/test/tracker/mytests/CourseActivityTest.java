@@ -0,0 +1,85 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.CoursesStatistics;
+import tracker.courses.CourseActivity;
+import tracker.courses.CourseCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tracker.courses.CourseActivity.Window.*;
+
+class CourseActivityTest {
+    private static final long START = TimeUnit.DAYS.toMillis(20_000);
+
+    private final AtomicLong now = new AtomicLong(START);
+    private final CourseActivity courseActivity = new CourseActivity(CourseCatalog.DEFAULT, now::get);
+
+    @Test
+    void getTasksAmount_EventsAgeOut_LeaveEachWindowInTurn() {
+        courseActivity.record(0, START);
+        courseActivity.record(0, START);
+        courseActivity.record(1, START);
+
+        assertEquals(2, courseActivity.getTasksAmount(0, LAST_HOUR));
+        assertEquals(1, courseActivity.getTasksAmount(1, LAST_WEEK));
+
+        now.addAndGet(TimeUnit.MINUTES.toMillis(61));
+        assertEquals(0, courseActivity.getTasksAmount(0, LAST_HOUR));
+        assertEquals(2, courseActivity.getTasksAmount(0, LAST_DAY));
+
+        now.addAndGet(TimeUnit.DAYS.toMillis(1));
+        assertEquals(0, courseActivity.getTasksAmount(0, LAST_DAY));
+        assertEquals(2, courseActivity.getTasksAmount(0, LAST_WEEK));
+
+        now.addAndGet(TimeUnit.DAYS.toMillis(7));
+        assertEquals(0, courseActivity.getTasksAmount(0, LAST_WEEK));
+    }
+
+    @Test
+    void record_SameBucketAWeekLater_RestartsTheBucket() {
+        courseActivity.record(2, START);
+        now.addAndGet(TimeUnit.DAYS.toMillis(7));
+        courseActivity.record(2, now.get());
+
+        assertEquals(1, courseActivity.getTasksAmount(2, LAST_HOUR));
+        assertEquals(1, courseActivity.getTasksAmount(2, LAST_WEEK));
+    }
+
+    @Test
+    void record_ManyThreads_NoEventLost() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    courseActivity.record(3, START + j);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, courseActivity.getTasksAmount(3, LAST_HOUR));
+        assertEquals(80_000, courseActivity.getTasksAmount(3, LAST_WEEK));
+    }
+
+    @Test
+    void getHighestActivityCoursesNames_OnlyOldActivityInOneCourse_RecentCourseWins() {
+        courseActivity.record(0, START);
+        courseActivity.record(0, START);
+        now.addAndGet(TimeUnit.HOURS.toMillis(2));
+        courseActivity.record(3, now.get());
+
+        assertEquals(Set.of("Spring"), CoursesStatistics.getHighestActivityCoursesNames(courseActivity, LAST_HOUR));
+        assertEquals(Set.of("Java"), CoursesStatistics.getHighestActivityCoursesNames(courseActivity, LAST_DAY));
+    }
+}
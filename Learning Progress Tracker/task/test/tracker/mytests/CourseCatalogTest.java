@@ -0,0 +1,76 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.CoursesStatistics;
+import tracker.courses.CourseCatalog;
+import tracker.engine.TrackerEngine;
+import tracker.student.IdAllocator;
+import tracker.student.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCatalogTest {
+
+    @Test
+    void load_DefinitionsWithCommentsAndBlankLines_OrdinalsInFileOrder() throws IOException {
+        Path file = createCatalogFile("# name=max points", "Java=600", "", "Machine Learning = 1000", "Go=250");
+
+        CourseCatalog catalog = CourseCatalog.load(file);
+
+        assertEquals(List.of("Java", "Machine Learning", "Go"), catalog.getNames());
+        assertEquals(1, catalog.ordinalOf("Machine Learning"));
+        assertEquals(1000, catalog.getMaxPoints(1));
+        assertEquals(-1, catalog.ordinalOf("Spring"));
+    }
+
+    @Test
+    void load_IncorrectDefinitions_ThrowsIllegalArgumentException() throws IOException {
+        Path missingMaxPoints = createCatalogFile("Java");
+        Path duplicateCourse = createCatalogFile("Java=600", "Java=400");
+        Path zeroMaxPoints = createCatalogFile("Java=0");
+        Path hugeMaxPoints = createCatalogFile("Java=600", "Go=2000000000");
+        Path noCourses = createCatalogFile("# nothing");
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load(missingMaxPoints)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load(duplicateCourse)),
+                () -> assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load(zeroMaxPoints)),
+                () -> assertEquals("Incorrect max points of course Go, expected 1 to 100000",
+                        assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load(hugeMaxPoints))
+                                .getMessage()),
+                () -> assertThrows(IllegalArgumentException.class, () -> CourseCatalog.load(noCourses))
+        );
+    }
+
+    @Test
+    void addPoints_FiveCourses_StatisticsCoverEveryCourse() {
+        CourseCatalog catalog = new CourseCatalog(
+                new String[]{"Java", "DSA", "Databases", "Spring", "Go"}, new int[]{600, 400, 480, 550, 250});
+        TrackerEngine engine = new TrackerEngine(catalog, new IdAllocator());
+        Student john = engine.register("John", "Smith", "jsmith@hotmail.com");
+        Student jean = engine.register("Jean", "Doe", "jdoe@hotmail.com");
+
+        engine.addPoints(john, 0, 0, 0, 0, 250);
+        engine.addPoints(jean, 10, 0, 0, 0, 125);
+
+        assertEquals(Set.of("Go"), CoursesStatistics.getMostPopularCoursesNames(engine.getCoursesAggregates()));
+        assertEquals(Set.of("Go"), CoursesStatistics.getEasiestCoursesNames(engine.getCoursesAggregates()));
+        assertTrue(john.getCourses().get("Go").isFinished());
+        assertTrue(CourseReports.print(engine, "Go", 0, 10)
+                .contains(john.getID() + "    250      100.0%"));
+        assertThrows(IllegalArgumentException.class, () -> engine.addPoints(john, 1, 2, 3, 4));
+    }
+
+    private static Path createCatalogFile(String... lines) throws IOException {
+        Path file = Files.createTempFile("courses", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, List.of(lines));
+        return file;
+    }
+}
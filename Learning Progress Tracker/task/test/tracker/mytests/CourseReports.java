@@ -0,0 +1,22 @@
+package tracker.mytests;
+
+import tracker.engine.TrackerEngine;
+import tracker.output.BufferedOutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+// Course reports of an engine as the application prints them.
+final class CourseReports {
+
+    private CourseReports() {
+    }
+
+    static String print(TrackerEngine engine, String courseName, int offset, int limit) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (BufferedOutputSink out = new BufferedOutputSink(output)) {
+            engine.printCourseParticipantsAndTheirStats(courseName, offset, limit, out);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.CoursesAggregation;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoursesAggregationTest {
+    private static final int STUDENTS_AMOUNT = 5_000;
+
+    @Test
+    void aggregate_SkipListWithIdGaps_SameAsIncrementalAggregates() {
+        assertParallelMatchesIncremental(new ConcurrentSkipListMap<>());
+    }
+
+    @Test
+    void aggregate_LinkedHashMap_SameAsIncrementalAggregates() {
+        assertParallelMatchesIncremental(new LinkedHashMap<>());
+    }
+
+    @Test
+    void aggregate_EmptyPopulation_NoParticipants() {
+        CoursesAggregates coursesAggregates = CoursesAggregation.aggregate(CourseCatalog.DEFAULT,
+                new ConcurrentSkipListMap<>(), new ForkJoinPool(4), 0);
+
+        assertTrue(coursesAggregates.getParticipantsAmounts().isEmpty());
+    }
+
+    private static void assertParallelMatchesIncremental(Map<Integer, Student> studentsList) {
+        CoursesAggregates incremental = new CoursesAggregates();
+        StudentFactory studentFactory = new StudentFactory(incremental);
+        Random random = new Random(7);
+        for (int i = 0; i < STUDENTS_AMOUNT; i++) {
+            Student student = studentFactory.getStudent("John", "Smith", i + "@mail.com");
+            // every fifth student is left out, so the IDs have gaps, and every third never gets points
+            if (i % 5 == 0) {
+                continue;
+            }
+            if (i % 3 != 0) {
+                student.addPoints(random.nextInt(10), random.nextInt(3), 0, random.nextInt(600));
+            }
+            studentsList.put(student.getID(), student);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CoursesAggregates parallel = CoursesAggregation.aggregate(CourseCatalog.DEFAULT, studentsList, pool, 16);
+            CoursesAggregates sequential = CoursesAggregation.aggregate(CourseCatalog.DEFAULT, studentsList,
+                    pool, Integer.MAX_VALUE);
+
+            assertEquals(incremental.getParticipantsAmounts(), parallel.getParticipantsAmounts());
+            assertEquals(sequential.getParticipantsAmounts(), parallel.getParticipantsAmounts());
+            assertEquals(sequential.getCompletedTasksAmounts(), parallel.getCompletedTasksAmounts());
+            assertEquals(sequential.getAveragePoints(), parallel.getAveragePoints());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import tracker.CoursesStatistics;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.TrackerEngine;
 import tracker.student.Student;
 import tracker.student.StudentFactory;
 
@@ -530,4 +533,92 @@ class CoursesStatisticsTest {
         Set<String> actualResult = CoursesStatistics.getHardestCoursesNames(studentsList);
         assertThat(actualResult).containsExactlyInAnyOrder("Databases", "Spring");
     }
-}
\ No newline at end of file
+
+    @Test
+    void incrementalAggregates_SameResultsAsFullScan() {
+        CoursesAggregates coursesAggregates = new CoursesAggregates();
+        StudentFactory aggregatingFactory = new StudentFactory(coursesAggregates);
+        for (int i = 0; i < 4; i++) {
+            studentsList.put(1_000_000 + i, aggregatingFactory.getStudent("name", "surname", i + "@email.xyz"));
+        }
+        addCoursesToStudents();
+        studentsList.get(1_000_001).addPoints(0, 0, 0, 300);
+
+        assertAll(
+                () -> assertEquals(CoursesStatistics.getMostPopularCoursesNames(studentsList),
+                        CoursesStatistics.getMostPopularCoursesNames(coursesAggregates)),
+                () -> assertEquals(CoursesStatistics.getLeastPopularCoursesNames(studentsList),
+                        CoursesStatistics.getLeastPopularCoursesNames(coursesAggregates)),
+                () -> assertEquals(CoursesStatistics.getHighestActivityCoursesNames(studentsList),
+                        CoursesStatistics.getHighestActivityCoursesNames(coursesAggregates)),
+                () -> assertEquals(CoursesStatistics.getLowestActivityCoursesNames(studentsList),
+                        CoursesStatistics.getLowestActivityCoursesNames(coursesAggregates)),
+                () -> assertEquals(CoursesStatistics.getEasiestCoursesNames(studentsList),
+                        CoursesStatistics.getEasiestCoursesNames(coursesAggregates)),
+                () -> assertEquals(CoursesStatistics.getHardestCoursesNames(studentsList),
+                        CoursesStatistics.getHardestCoursesNames(coursesAggregates))
+        );
+    }
+
+    @Test
+    void getCourseParticipantsAndTheirStats_Leaderboards_SameReportAsSortedScan() {
+        TrackerEngine engine = new TrackerEngine();
+        for (int i = 0; i < 4; i++) {
+            engine.register("name", "surname", i + "@email.xyz");
+        }
+        studentsList = engine.getStudents();
+        addCoursesToStudents();
+        engine.addPoints(1_000_001, 320, 0, 0, 0);
+        engine.addPoints(1_000_002, 700, 0, 0, 0);
+
+        for (String courseName : CourseCatalog.DEFAULT.getNames()) {
+            assertEquals(CoursesStatistics.getCourseParticipantsAndTheirStats(studentsList, courseName),
+                    CourseReports.print(engine, courseName, 0, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void getCourseParticipantsAndTheirStats_LeaderboardsPage_TiesInIdOrder() {
+        TrackerEngine engine = new TrackerEngine();
+        for (int i = 0; i < 5; i++) {
+            engine.register("name", "surname", i + "@email.xyz");
+        }
+        engine.addPoints(1_000_003, 0, 40, 0, 0);
+        engine.addPoints(1_000_001, 0, 40, 0, 0);
+        engine.addPoints(1_000_004, 0, 40, 0, 0);
+        engine.addPoints(1_000_000, 0, 400, 0, 0);
+
+        String[] actualLines = CourseReports.print(engine, "DSA", 1, 2)
+                .split(System.lineSeparator());
+
+        assertAll(
+                () -> assertEquals(4, actualLines.length),
+                () -> assertTrue(actualLines[2].matches("1000001\\s+40\\s+10\\.0\\s?%.*")),
+                () -> assertTrue(actualLines[3].matches("1000003\\s+40\\s+10\\.0\\s?%.*"))
+        );
+    }
+
+    @Test
+    void getCourseParticipantsAndTheirStats_LeaderboardsStudentLeavesTie_RestStayInIdOrder() {
+        TrackerEngine engine = new TrackerEngine();
+        for (int i = 0; i < 5; i++) {
+            engine.register("name", "surname", i + "@email.xyz");
+        }
+        engine.addPoints(1_000_004, 0, 40, 0, 0);
+        engine.addPoints(1_000_002, 0, 40, 0, 0);
+        engine.addPoints(1_000_000, 0, 40, 0, 0);
+        engine.addPoints(1_000_003, 0, 40, 0, 0);
+        engine.addPoints(1_000_002, 0, 10, 0, 0);
+
+        String[] actualLines = CourseReports.print(engine, "DSA", 0, 4)
+                .split(System.lineSeparator());
+
+        assertAll(
+                () -> assertEquals(6, actualLines.length),
+                () -> assertTrue(actualLines[2].matches("1000002\\s+50\\s+12\\.5\\s?%.*")),
+                () -> assertTrue(actualLines[3].matches("1000000\\s+40\\s+10\\.0\\s?%.*")),
+                () -> assertTrue(actualLines[4].matches("1000003\\s+40\\s+10\\.0\\s?%.*")),
+                () -> assertTrue(actualLines[5].matches("1000004\\s+40\\s+10\\.0\\s?%.*"))
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tracker.student.Credentials;
+import tracker.student.CredentialsParser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialsParserTest {
+
+    @Test
+    void parse_MultiWordLastName_FieldsSplitOnFirstAndLastSpace() {
+        Credentials credentials = CredentialsParser.parse("Robert Jemison Van de Graaff robertvdgraaff@mit.edu");
+
+        assertAll(
+                () -> assertEquals("Robert", credentials.getName()),
+                () -> assertEquals("Jemison Van de Graaff", credentials.getLastName()),
+                () -> assertEquals("robertvdgraaff@mit.edu", credentials.getEmail())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"John Smith jsmith@hotmail.com", "n'a me su aa-b'b ab@ab.ab", "nA me 1@1.1",
+            "Mary Emelianenko 125367at@zzz90.z9", "Anny Doolittle anny.md@mail.edu"})
+    void findError_ValidCredentials_Null(String credentials) {
+        assertNull(CredentialsParser.findError(credentials));
+    }
+
+    @Test
+    void parse_InvalidCredentials_ThrowsIllegalArgumentExceptionWithMessage() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                CredentialsParser.parse("name surname- email@email.xyz"));
+
+        assertEquals(CredentialsParser.INCORRECT_LAST_NAME, exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"John Smith js\rRSET@hotmail.com", "John Smith jsmith@hot\nmail.com",
+            "John Smith jsmith@hotmail.com\r", "John Smith js\u0000mith@hotmail.com"})
+    void findError_ControlCharacterInEmail_IncorrectEmail(String credentials) {
+        assertEquals(CredentialsParser.INCORRECT_EMAIL, CredentialsParser.findError(credentials));
+    }
+}
@@ -0,0 +1,140 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.student.IdAllocator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    @Test
+    void nextId_OneThread_ConsecutiveIdsFromFirstId() {
+        IdAllocator idAllocator = new IdAllocator(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1_000_000 + i, idAllocator.nextId());
+        }
+    }
+
+    @Test
+    void nextId_ManyThreads_EveryIdHandedOutOnce() throws Exception {
+        IdAllocator idAllocator = new IdAllocator(8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                int[] ids = new int[10_000];
+                for (int j = 0; j < ids.length; j++) {
+                    ids[j] = idAllocator.nextId();
+                }
+                return ids;
+            }));
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        try {
+            for (Future<int[]> future : futures) {
+                for (int id : future.get()) {
+                    assertTrue(ids.add(id));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    void releaseUnusedIds_PartlyUsedBlock_HighWaterMarkIsNextId() {
+        IdAllocator idAllocator = new IdAllocator(64);
+        idAllocator.nextId();
+        idAllocator.nextId();
+
+        assertEquals(1_000_064, idAllocator.getHighWaterMark());
+        idAllocator.releaseUnusedIds();
+        assertEquals(1_000_002, idAllocator.getHighWaterMark());
+        assertEquals(1_000_002, idAllocator.nextId());
+    }
+
+    @Test
+    void releaseUnusedIds_OtherThreadReservedLaterBlock_NextThreadGetsRest() throws Exception {
+        IdAllocator idAllocator = new IdAllocator(64);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            idAllocator.nextId();
+            idAllocator.nextId();
+            assertEquals(1_000_064, (int) executor.submit(idAllocator::nextId).get());
+
+            idAllocator.releaseUnusedIds();
+
+            assertEquals(1_000_128, idAllocator.getHighWaterMark());
+            assertEquals(1_000_002, idAllocator.nextId());
+            assertEquals(1_000_003, idAllocator.nextId());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void raiseHighWaterMark_ReleasedBlockBelowMark_ContinuesAfterMark() throws Exception {
+        IdAllocator idAllocator = new IdAllocator(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            idAllocator.nextId();
+            executor.submit(idAllocator::nextId).get();
+            idAllocator.releaseUnusedIds();
+
+            idAllocator.raiseHighWaterMark(1_000_010);
+
+            assertEquals(1_000_010, idAllocator.nextId());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void raiseHighWaterMark_ReservedBlockBelowMark_ContinuesAfterMark() {
+        IdAllocator idAllocator = new IdAllocator(4);
+        idAllocator.nextId();
+
+        idAllocator.raiseHighWaterMark(1_000_010);
+
+        assertEquals(1_000_010, idAllocator.nextId());
+    }
+
+    @Test
+    void nextId_RestartWithMarkFile_NeverReusesId() throws IOException {
+        Path markFile = Files.createTempFile("ids", ".mark");
+        Files.delete(markFile);
+        markFile.toFile().deleteOnExit();
+
+        int lastId = 0;
+        IdAllocator idAllocator = new IdAllocator(16, markFile);
+        for (int i = 0; i < 100; i++) {
+            lastId = idAllocator.nextId();
+        }
+
+        IdAllocator restartedAllocator = new IdAllocator(16, markFile);
+        assertTrue(restartedAllocator.nextId() > lastId);
+    }
+
+    @Test
+    void constructor_CorruptedMarkFile_ThrowsIOException() throws IOException {
+        Path markFile = Files.createTempFile("ids", ".mark");
+        markFile.toFile().deleteOnExit();
+        Files.write(markFile, List.of("John Smith jsmith@hotmail.com"));
+
+        assertThrows(IOException.class, () -> new IdAllocator(16, markFile));
+    }
+}
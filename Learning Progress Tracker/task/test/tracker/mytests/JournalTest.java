@@ -0,0 +1,243 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+import tracker.journal.JournalException;
+import tracker.journal.JournalReplayer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @Test
+    void open_JournalWithRecords_ReplaysThemInOrder() throws IOException {
+        Path file = createJournalFile();
+        try (Journal journal = Journal.open(file, DurabilityMode.SYNC, new RecordingReplayer())) {
+            journal.recordRegistration(1_000_000, "Jean-Claude", "O'Connor", "jcda123@google.net");
+            journal.recordPoints(1_000_000, new int[]{1, 2, 3, 4});
+            journal.recordPoints(1_000_000, new int[]{5, 0, 0, 600});
+            journal.recordNotified(1_000_000, "Spring");
+        }
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        Journal.open(file, DurabilityMode.NONE, replayer).close();
+
+        assertEquals(List.of(
+                "1000000 Jean-Claude O'Connor jcda123@google.net",
+                "1000000 [1, 2, 3, 4]",
+                "1000000 [5, 0, 0, 600]",
+                "1000000 notified Spring"), replayer.records);
+    }
+
+    @Test
+    void open_JournalWithTornLastRecord_DropsItAndKeepsAppending() throws IOException {
+        Path file = createJournalFile();
+        try (Journal journal = Journal.open(file, DurabilityMode.BATCH, new RecordingReplayer())) {
+            journal.recordRegistration(1_000_000, "John", "Smith", "jsmith@hotmail.com");
+            journal.recordPoints(1_000_000, new int[]{1, 2, 3, 4});
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (Journal journal = Journal.open(file, DurabilityMode.BATCH, new RecordingReplayer())) {
+            assertEquals(1, journal.getEntriesAmount());
+            journal.recordPoints(1_000_000, new int[]{9, 9, 9, 9});
+        }
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        Journal.open(file, DurabilityMode.NONE, replayer).close();
+
+        assertEquals(List.of("1000000 John Smith jsmith@hotmail.com", "1000000 [9, 9, 9, 9]"), replayer.records);
+    }
+
+    @Test
+    void commit_BatchWriteFailsHalfway_RetriedRecordsReplayedOnce() throws IOException {
+        Path file = createJournalFile();
+        FailingChannel channel = new FailingChannel(FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try (Journal journal = Journal.open(channel, DurabilityMode.BATCH, new RecordingReplayer(), 0)) {
+            journal.recordRegistration(1_000_000, "John", "Smith", "jsmith@hotmail.com");
+            journal.recordPoints(1_000_000, new int[]{1, 2, 3, 4});
+            channel.failAfter(10);
+            assertThrows(JournalException.class, journal::commit);
+
+            journal.recordPoints(1_000_000, new int[]{5, 0, 0, 0});
+            journal.commit();
+        }
+
+        RecordingReplayer replayer = new RecordingReplayer();
+        Journal.open(file, DurabilityMode.NONE, replayer).close();
+
+        assertEquals(List.of("1000000 John Smith jsmith@hotmail.com", "1000000 [1, 2, 3, 4]",
+                "1000000 [5, 0, 0, 0]"), replayer.records);
+    }
+
+    @Test
+    void close_LastCommitFails_FileClosedAnyway() throws IOException {
+        Path file = createJournalFile();
+        FailingChannel channel = new FailingChannel(FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        Journal journal = Journal.open(channel, DurabilityMode.BATCH, new RecordingReplayer(), 0);
+        journal.recordRegistration(1_000_000, "John", "Smith", "jsmith@hotmail.com");
+        channel.failAfter(0);
+
+        assertThrows(JournalException.class, journal::close);
+        assertFalse(channel.isOpen());
+        journal.close();
+    }
+
+    private static Path createJournalFile() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+
+    private static class RecordingReplayer implements JournalReplayer {
+        private final List<String> records = new ArrayList<>();
+
+        @Override
+        public void onRegistration(int studentId, String name, String lastName, String email) {
+            records.add(studentId + " " + name + " " + lastName + " " + email);
+        }
+
+        @Override
+        public void onPoints(int studentId, int[] points) {
+            records.add(studentId + " " + Arrays.toString(points));
+        }
+
+        @Override
+        public void onNotified(int studentId, String courseName) {
+            records.add(studentId + " notified " + courseName);
+        }
+    }
+
+    // Writes through to a file channel, except that one write can be made to stop after a few bytes
+    // and the write after it to fail, like a disk running full.
+    private static class FailingChannel extends FileChannel {
+        private final FileChannel channel;
+        private int bytesBeforeFailure = -1;
+
+        FailingChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void failAfter(int bytes) {
+            bytesBeforeFailure = bytes;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (bytesBeforeFailure == 0) {
+                bytesBeforeFailure = -1;
+                throw new IOException("No space left on device");
+            } else if (bytesBeforeFailure < 0) {
+                return channel.write(src);
+            }
+
+            ByteBuffer part = src.duplicate();
+            part.limit(part.position() + Math.min(part.remaining(), bytesBeforeFailure));
+            int written = channel.write(part);
+            src.position(src.position() + written);
+            bytesBeforeFailure -= written;
+            return written;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return channel.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            channel.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return channel.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return channel.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return channel.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return channel.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return channel.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.Main;
+import tracker.engine.TrackerEngine;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MainTest {
+
+    @Test
+    void main_OptionWithoutValue_UsageErrorPrinted() {
+        String errors = runMain("--script");
+
+        assertTrue(errors.startsWith("Missing value for --script" + System.lineSeparator() + "Usage: "));
+    }
+
+    @Test
+    void main_UnknownOption_UsageErrorPrinted() {
+        assertTrue(runMain("--bogus").startsWith("Unknown option --bogus" + System.lineSeparator() + "Usage: "));
+        assertTrue(runMain("--listen", "0", "--bogus", "1").startsWith("Unknown option --bogus"));
+    }
+
+    @Test
+    void main_IncorrectValue_UsageErrorPrinted() {
+        assertTrue(runMain("--notify-batch", "many").startsWith("Incorrect value many for --notify-batch"));
+        assertTrue(runMain("--durability", "fast").startsWith("Incorrect value fast for --durability"));
+    }
+
+    @Test
+    void main_JournalWithMorePointsThanCourses_CannotOpenJournalPrinted() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        file.toFile().deleteOnExit();
+        try (Journal journal = Journal.open(file, DurabilityMode.SYNC, new TrackerEngine().getJournalReplayer())) {
+            journal.recordRegistration(1_000_000, "John", "Smith", "jsmith@hotmail.com");
+            // One more course than the default catalog has.
+            journal.recordPoints(1_000_000, new int[]{1, 2, 3, 4, 5});
+        }
+
+        assertTrue(runMain("--journal", file.toString()).startsWith("Cannot open journal " + file + ": "));
+    }
+
+    // Every case stops at the usage error, before the tracker reads any input.
+    private static String runMain(String... args) {
+        PrintStream systemErr = System.err;
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+        try {
+            Main.main(args);
+        } finally {
+            System.setErr(systemErr);
+        }
+        return errors.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.metrics.LatencyHistogram;
+import tracker.metrics.Metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @Test
+    void getPercentileNanos_UniformValues_WithinOneSixteenth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 10L);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertWithin(500_000, histogram.getPercentileNanos(0.5));
+        assertWithin(990_000, histogram.getPercentileNanos(0.99));
+        assertWithin(999_000, histogram.getPercentileNanos(0.999));
+        assertEquals(1_000_000, histogram.getPercentileNanos(1));
+    }
+
+    @Test
+    void getPercentileNanos_SmallValues_Exact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-5);
+
+        assertEquals(3, histogram.getPercentileNanos(0.5));
+        assertEquals(7, histogram.getPercentileNanos(0.99));
+        assertEquals(0, new LatencyHistogram().getPercentileNanos(0.5));
+    }
+
+    @Test
+    void render_RecordedCommandsAndCounters_PrintsEveryName() {
+        Metrics metrics = new Metrics();
+        metrics.recordCommand("add points", System.nanoTime());
+        metrics.recordComputation("most popular", System.nanoTime());
+        metrics.recordNotification("smtp", 2_000);
+        metrics.increment(Metrics.UNKNOWN_ID);
+        metrics.add(Metrics.UNKNOWN_ID, 2);
+
+        String rendered = metrics.render();
+
+        assertTrue(rendered.contains("add points"));
+        assertTrue(rendered.matches("(?s).*notification \\(us\\).*\\Rsmtp +1 .*"));
+        assertEquals(1, metrics.getNotificationHistogram("smtp").getCount());
+        assertTrue(rendered.contains("most popular"));
+        assertTrue(rendered.matches("(?s).*unknown id +3\\R.*"));
+        assertEquals(3, metrics.getCount(Metrics.UNKNOWN_ID));
+    }
+
+    @Test
+    void toJson_RecordedCommand_OneLineWithCountAndCounters() {
+        Metrics metrics = new Metrics();
+        metrics.recordCommand("find", System.nanoTime());
+        metrics.increment(Metrics.INCORRECT_POINTS_FORMAT);
+
+        String json = metrics.toJson();
+
+        assertFalse(json.contains("\n"));
+        assertTrue(json.contains("\"find\":{\"count\":1,"));
+        assertTrue(json.contains("\"counters\":{\"incorrect points format\":1}"));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 16, expected + " vs " + actual);
+    }
+}
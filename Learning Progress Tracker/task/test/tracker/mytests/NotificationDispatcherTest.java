@@ -0,0 +1,252 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.notification.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    @Test
+    void render_DefaultTemplate_SameTextAsPrintedNotification() {
+        Notification notification = new Notification(1_000_000, "jcda123@google.net", "Jean-Claude", "O'Connor", "DSA");
+
+        String expected = "To: jcda123@google.net" + System.lineSeparator()
+                + "Re: Your Learning Progress" + System.lineSeparator()
+                + String.format("Hello, %s %s! You have accomplished our %s course!%n", "Jean-Claude", "O'Connor", "DSA");
+        assertEquals(expected, NotificationTemplate.DEFAULT.render(notification));
+    }
+
+    @Test
+    void flush_OrderedSinkAndSmallBatches_AllDeliveredInSubmissionOrder() {
+        RecordingSink sink = new RecordingSink();
+        NotificationTemplate template = new NotificationTemplate("{course}");
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(sink, template, 3, 0, 4)) {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.submit(new Notification(1_000_000 + i, "a@a.a", "n", "l", String.valueOf(i)));
+            }
+            dispatcher.flush();
+
+            assertEquals(100, sink.messages.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(String.valueOf(i), sink.messages.get(i));
+            }
+            assertEquals(100, dispatcher.getDeliveredAmount());
+            assertEquals(0, dispatcher.getFailedAmount());
+            assertTrue(dispatcher.getBatchesAmount() >= 34);
+        }
+    }
+
+    @Test
+    void flush_FailingSink_CountsFailuresAndReturns() {
+        NotificationSink sink = (notifications, messages, delivered) -> {
+            throw new IOException("Connection refused");
+        };
+        List<Integer> failedStudentIds = Collections.synchronizedList(new ArrayList<>());
+        NotificationDispatcher.DeliveryListener listener = new NotificationDispatcher.DeliveryListener() {
+            @Override
+            public void onDelivered(Notification notification, long latencyNanos) {
+                fail("Nothing can be delivered");
+            }
+
+            @Override
+            public void onFailed(Notification notification, long latencyNanos) {
+                assertTrue(latencyNanos >= 0);
+                failedStudentIds.add(notification.getStudentId());
+            }
+        };
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(
+                sink, NotificationTemplate.DEFAULT, 10, 0, 16, listener)) {
+            for (int i = 0; i < 25; i++) {
+                dispatcher.submit(new Notification(1_000_000 + i, "a@a.a", "n", "l", "Java"));
+            }
+            dispatcher.flush();
+
+            assertEquals(0, dispatcher.getDeliveredAmount());
+            assertEquals(25, dispatcher.getFailedAmount());
+            assertEquals(25, failedStudentIds.size());
+        }
+    }
+
+    @Test
+    void flush_SinkFailsHalfwayThroughBatch_OnlyUndeliveredReportedFailed() {
+        // Hands messages over one by one and loses the connection at students 1000003 and 1000007.
+        List<Integer> handedOverStudentIds = Collections.synchronizedList(new ArrayList<>());
+        NotificationSink sink = (notifications, messages, delivered) -> {
+            for (int i = 0; i < notifications.size(); i++) {
+                int studentId = notifications.get(i).getStudentId();
+                if (studentId == 1_000_003 || studentId == 1_000_007) {
+                    throw new IOException("Connection reset");
+                }
+                handedOverStudentIds.add(studentId);
+                delivered.set(i);
+            }
+        };
+        List<Integer> deliveredStudentIds = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> failedStudentIds = Collections.synchronizedList(new ArrayList<>());
+        NotificationDispatcher.DeliveryListener listener = new NotificationDispatcher.DeliveryListener() {
+            @Override
+            public void onDelivered(Notification notification, long latencyNanos) {
+                deliveredStudentIds.add(notification.getStudentId());
+            }
+
+            @Override
+            public void onFailed(Notification notification, long latencyNanos) {
+                failedStudentIds.add(notification.getStudentId());
+            }
+        };
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(
+                sink, NotificationTemplate.DEFAULT, 5, 0, 16, listener)) {
+            for (int i = 0; i < 10; i++) {
+                dispatcher.submit(new Notification(1_000_000 + i, "a@a.a", "n", "l", "Java"));
+            }
+            dispatcher.flush();
+
+            Collections.sort(handedOverStudentIds);
+            Collections.sort(deliveredStudentIds);
+            assertEquals(handedOverStudentIds, deliveredStudentIds);
+            assertTrue(deliveredStudentIds.contains(1_000_000));
+            assertTrue(failedStudentIds.contains(1_000_003));
+            assertTrue(failedStudentIds.contains(1_000_007));
+            assertEquals(10, deliveredStudentIds.size() + failedStudentIds.size());
+            assertEquals(deliveredStudentIds.size(), dispatcher.getDeliveredAmount());
+            assertEquals(failedStudentIds.size(), dispatcher.getFailedAmount());
+        }
+    }
+
+    @Test
+    void flush_ListenerThrows_OtherNotificationsReportedAndFailureRethrownOnce() {
+        List<Integer> deliveredStudentIds = Collections.synchronizedList(new ArrayList<>());
+        NotificationDispatcher.DeliveryListener listener = new NotificationDispatcher.DeliveryListener() {
+            @Override
+            public void onDelivered(Notification notification, long latencyNanos) {
+                if (notification.getStudentId() == 1_000_002) {
+                    throw new IllegalStateException("Journal is closed");
+                }
+                deliveredStudentIds.add(notification.getStudentId());
+            }
+        };
+        RecordingSink sink = new RecordingSink();
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(
+                sink, NotificationTemplate.DEFAULT, 2, 0, 16, listener)) {
+            for (int i = 0; i < 6; i++) {
+                dispatcher.submit(new Notification(1_000_000 + i, "a@a.a", "n", "l", "Java"));
+            }
+            IllegalStateException e = assertThrows(IllegalStateException.class, dispatcher::flush);
+            assertEquals("Journal is closed", e.getMessage());
+            assertEquals(5, deliveredStudentIds.size());
+
+            dispatcher.submit(new Notification(1_000_006, "a@a.a", "n", "l", "Java"));
+            dispatcher.flush();
+            assertEquals(6, deliveredStudentIds.size());
+            assertEquals(7, sink.messages.size());
+        }
+    }
+
+    @Test
+    void deliver_MaildirSink_OneFileInNewPerNotification() throws IOException {
+        Path maildir = Files.createTempDirectory("maildir");
+        try (NotificationDispatcher dispatcher = new NotificationDispatcher(
+                new MaildirNotificationSink(maildir), NotificationTemplate.DEFAULT, 2, 0, 8)) {
+            dispatcher.submit(new Notification(1_000_000, "jsmith@hotmail.com", "John", "Smith", "Java"));
+            dispatcher.submit(new Notification(1_000_001, "anny.md@mail.edu", "Anny", "Doolittle", "Spring"));
+            dispatcher.submit(new Notification(1_000_001, "anny.md@mail.edu", "Anny", "Doolittle", "DSA"));
+        }
+
+        List<String> messages = new ArrayList<>();
+        try (Stream<Path> files = Files.list(maildir.resolve("new"))) {
+            for (Path file : files.collect(Collectors.toList())) {
+                messages.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+        }
+        Collections.sort(messages);
+        assertEquals(3, messages.size());
+        assertTrue(messages.get(0).startsWith("To: anny.md@mail.edu"));
+        assertTrue(messages.get(2).contains("Hello, John Smith! You have accomplished our Java course!"));
+        try (Stream<Path> files = Files.list(maildir.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void deliver_SmtpSinkAndCarriageReturnInOneEmail_OnlyThatMessageSkipped() throws Exception {
+        List<String> commands = Collections.synchronizedList(new ArrayList<>());
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Thread server = new Thread(() -> serveSmtp(serverSocket, commands));
+            server.start();
+            List<Notification> notifications = List.of(
+                    new Notification(1_000_000, "jsmith@hotmail.com", "John", "Smith", "Java"),
+                    new Notification(1_000_001, "anny.md@mail.edu>\rRSET\rRCPT TO:<a@b.c", "Anny", "Doolittle", "DSA"),
+                    new Notification(1_000_002, "jdoe@hotmail.com", "Jean", "Doe", "Spring"));
+            BitSet delivered = new BitSet();
+
+            new SmtpNotificationSink("localhost", serverSocket.getLocalPort())
+                    .deliver(notifications, List.of("Java", "DSA", "Spring"), delivered);
+            server.join();
+
+            assertEquals(List.of("HELO localhost",
+                    "MAIL FROM:<tracker@localhost>", "RCPT TO:<jsmith@hotmail.com>", "DATA", "Java", ".",
+                    "MAIL FROM:<tracker@localhost>", "RCPT TO:<jdoe@hotmail.com>", "DATA", "Spring", ".",
+                    "QUIT"), commands);
+            assertTrue(delivered.get(0));
+            assertFalse(delivered.get(1));
+            assertTrue(delivered.get(2));
+        }
+    }
+
+    private static void serveSmtp(ServerSocket serverSocket, List<String> commands) {
+        try (Socket socket = serverSocket.accept();
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            writer.write("220 localhost\r\n");
+            writer.flush();
+            boolean data = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                commands.add(line);
+                if (data && !line.equals(".")) {
+                    continue;
+                }
+                data = line.equals("DATA");
+                writer.write(data ? "354 go ahead\r\n" : line.equals("QUIT") ? "221 bye\r\n" : "250 ok\r\n");
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class RecordingSink implements NotificationSink {
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public void deliver(List<Notification> notifications, List<String> messages, BitSet delivered) {
+            this.messages.addAll(messages);
+            delivered.set(0, messages.size());
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return true;
+        }
+    }
+}
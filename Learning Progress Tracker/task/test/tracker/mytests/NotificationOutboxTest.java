@@ -0,0 +1,39 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.notification.NotificationOutbox;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationOutboxTest {
+    private final NotificationOutbox notificationOutbox = new NotificationOutbox();
+    private final StudentFactory studentFactory = new StudentFactory(notificationOutbox);
+
+    @Test
+    void drain_StudentsFinishedCourses_ReturnsEachStudentOnceInIdOrder() {
+        Student john = studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+        Student anny = studentFactory.getStudent("Anny", "Doolittle", "anny.md@mail.edu");
+        Student mary = studentFactory.getStudent("Mary", "Emelianenko", "125367at@zzz90.z9");
+        anny.addPoints(600, 0, 0, 0);
+        mary.addPoints(10, 10, 10, 10);
+        john.addPoints(0, 400, 0, 550);
+        anny.addPoints(0, 0, 480, 0);
+
+        assertArrayEquals(new int[]{john.getID(), anny.getID()}, notificationOutbox.drain());
+        assertTrue(notificationOutbox.isEmpty());
+    }
+
+    @Test
+    void drain_NotifiedCourseGetsMorePoints_StudentNotQueuedAgain() {
+        Student john = studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+        john.addPoints(600, 0, 0, 0);
+        notificationOutbox.drain();
+        john.getCourses().get("Java").setNotified(true);
+
+        john.addPoints(5, 0, 0, 0);
+
+        assertEquals(0, notificationOutbox.drain().length);
+    }
+}
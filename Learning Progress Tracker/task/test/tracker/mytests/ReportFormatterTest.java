@@ -0,0 +1,66 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.output.ReportFormatter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportFormatterTest {
+
+    @Test
+    void appendPercent_AllPointsUpToThreeTimesMax_SameAsBigDecimal() {
+        for (int maxPoints = 1; maxPoints <= 700; maxPoints++) {
+            for (int points = 0; points <= 3 * maxPoints; points++) {
+                assertEquals(legacyPercent(points, maxPoints), percent(points, maxPoints),
+                        points + " of " + maxPoints);
+            }
+        }
+    }
+
+    @Test
+    void appendPercent_TiesAndHugeValues_SameAsBigDecimal() {
+        int[][] cases = {{1, 2000}, {3, 2000}, {1, 200}, {500, 600}, {1, 1}, {99_999, 1},
+                {100_000, 1}, {Integer.MAX_VALUE, 1}, {Integer.MAX_VALUE, 600}, {Integer.MAX_VALUE, Integer.MAX_VALUE}};
+        for (int[] pointsAndMax : cases) {
+            assertEquals(legacyPercent(pointsAndMax[0], pointsAndMax[1]), percent(pointsAndMax[0], pointsAndMax[1]));
+        }
+        assertEquals("83.3", percent(500, 600));
+        assertEquals("1.0E7", percent(100_000, 1));
+    }
+
+    @Test
+    void column_ShorterAndLongerThanWidth_SameAsFormat() {
+        ReportFormatter report = new ReportFormatter()
+                .column(1000003, 10).append(' ')
+                .column(123456789, 8).append(' ')
+                .percentColumn(100_000, 1, 10)
+                .column("id ", 10);
+
+        assertEquals(String.format("%-10.10s %-8.8s %-10.10s%-10.10s", 1000003, 123456789, "1.0E7%", "id "),
+                report.toString());
+    }
+
+    @Test
+    void clear_AfterRows_StartsEmpty() {
+        ReportFormatter report = new ReportFormatter(4).column(42, 10).newLine();
+        report.clear();
+
+        assertEquals(0, report.length());
+        assertEquals("7 ", report.column(7, 2).toString());
+    }
+
+    private static String percent(int points, int maxPoints) {
+        StringBuilder sb = new StringBuilder();
+        ReportFormatter.appendPercent(sb, points, maxPoints);
+        return sb.toString();
+    }
+
+    private static String legacyPercent(int points, int maxPoints) {
+        return String.valueOf(BigDecimal.valueOf((double) points / maxPoints * 100)
+                .setScale(1, RoundingMode.HALF_UP)
+                .doubleValue());
+    }
+}
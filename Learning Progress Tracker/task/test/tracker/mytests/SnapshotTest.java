@@ -0,0 +1,127 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.courses.Course;
+import tracker.courses.CourseCatalog;
+import tracker.snapshot.Snapshot;
+import tracker.student.IdAllocator;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTest {
+
+    @Test
+    void load_SavedStudents_RestoresCredentialsPointsAndFlags() throws IOException {
+        StudentFactory studentFactory = new StudentFactory();
+        Student john = studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+        Student jean = studentFactory.getStudent("Jean-Claude", "O'Connor \u017b\u00f3\u0142\u0107", "jcda123@google.net");
+        Student anny = studentFactory.getStudent("Anny", "Doolittle", "anny.md@mail.edu");
+        john.addPoints(600, 0, 3, 0);
+        john.addPoints(1, 2, 0, 0);
+        john.getCourses().get("Java").setNotified(true);
+        jean.addPoints(0, 0, 0, 550);
+
+        Path file = createSnapshotFile();
+        Snapshot.save(file, CourseCatalog.DEFAULT, List.of(john, jean, anny), studentFactory.getNextID(), 7);
+
+        StudentFactory restoredFactory = new StudentFactory();
+        Snapshot snapshot = Snapshot.load(file, restoredFactory);
+
+        assertEquals(7, snapshot.getJournalEntries());
+        assertEquals(3, snapshot.getStudents().length);
+        assertRestored(john, snapshot.getStudents()[0]);
+        assertRestored(jean, snapshot.getStudents()[1]);
+        assertRestored(anny, snapshot.getStudents()[2]);
+
+        Course restoredJava = snapshot.getStudents()[0].getCourses().get("Java");
+        assertEquals(2, restoredJava.getCompletedTasksAmount());
+        assertTrue(restoredJava.isFinished());
+        assertTrue(restoredJava.isNotified());
+
+        Course restoredSpring = snapshot.getStudents()[1].getCourses().get("Spring");
+        assertTrue(restoredSpring.isFinished());
+        assertFalse(restoredSpring.isNotified());
+
+        assertEquals(1_000_003, restoredFactory.getStudent("Ed", "Eden", "a1@a1.a1").getID());
+    }
+
+    @Test
+    void load_NameLongerThanBuffer_RestoresEveryString() throws IOException {
+        StudentFactory studentFactory = new StudentFactory();
+        Student john = studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+        Student longName = studentFactory.getStudent("n".repeat((1 << 20) + 3), "Doolittle", "anny.md@mail.edu");
+        Student jean = studentFactory.getStudent("Jean-Claude", "O'Connor", "jcda123@google.net");
+        longName.addPoints(5, 0, 0, 0);
+
+        Path file = createSnapshotFile();
+        Snapshot.save(file, CourseCatalog.DEFAULT, List.of(john, longName, jean), studentFactory.getNextID(), 0);
+        Snapshot snapshot = Snapshot.load(file, new StudentFactory());
+
+        assertRestored(john, snapshot.getStudents()[0]);
+        assertRestored(longName, snapshot.getStudents()[1]);
+        assertRestored(jean, snapshot.getStudents()[2]);
+    }
+
+    @Test
+    void load_NotASnapshot_ThrowsIOException() throws IOException {
+        Path file = createSnapshotFile();
+        Files.write(file, List.of("John Smith jsmith@hotmail.com"));
+
+        assertThrows(IOException.class, () -> Snapshot.load(file, new StudentFactory()));
+    }
+
+    @Test
+    void load_CatalogWithAppendedCourse_RestoresCoursesByOrdinal() throws IOException {
+        StudentFactory studentFactory = new StudentFactory();
+        Student john = studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+        john.addPoints(5, 6, 7, 8);
+        Path file = createSnapshotFile();
+        Snapshot.save(file, CourseCatalog.DEFAULT, List.of(john), studentFactory.getNextID(), 0);
+
+        CourseCatalog extendedCatalog = new CourseCatalog(
+                new String[]{"Java", "DSA", "Databases", "Spring", "Kotlin"}, new int[]{600, 400, 480, 550, 300});
+        Student restored = Snapshot.load(file, new StudentFactory(extendedCatalog, new IdAllocator()))
+                .getStudents()[0];
+
+        assertEquals(8, restored.getCourses().get("Spring").getPoints());
+        assertNull(restored.getCourse(4));
+        restored.addPoints(0, 0, 0, 0, 300);
+        assertTrue(restored.getCourses().get("Kotlin").isFinished());
+    }
+
+    @Test
+    void load_CatalogWithFewerCourses_ThrowsIOException() throws IOException {
+        StudentFactory studentFactory = new StudentFactory();
+        Path file = createSnapshotFile();
+        Snapshot.save(file, CourseCatalog.DEFAULT, List.of(studentFactory.getStudent("John", "Smith", "j@s.com")),
+                studentFactory.getNextID(), 0);
+
+        CourseCatalog smallerCatalog = new CourseCatalog(new String[]{"Java"}, new int[]{600});
+        assertThrows(IOException.class,
+                () -> Snapshot.load(file, new StudentFactory(smallerCatalog, new IdAllocator())));
+    }
+
+    private static void assertRestored(Student expected, Student actual) {
+        assertEquals(expected.getID(), actual.getID());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getCourses().keySet(), actual.getCourses().keySet());
+        for (Course course : expected.getCourses().values()) {
+            assertEquals(course.getPoints(), actual.getCourses().get(course.NAME).getPoints());
+        }
+    }
+
+    private static Path createSnapshotFile() throws IOException {
+        Path file = Files.createTempFile("snapshot", ".bin");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
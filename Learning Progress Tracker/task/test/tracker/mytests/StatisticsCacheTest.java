@@ -0,0 +1,110 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.courses.CourseCatalog;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.StatisticsCache;
+import tracker.engine.TrackerEngine;
+import tracker.metrics.Metrics;
+import tracker.student.IdAllocator;
+import tracker.student.Student;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsCacheTest {
+    private final TrackerEngine engine = new TrackerEngine();
+    private final Metrics metrics = engine.getMetrics();
+
+    @Test
+    void getCourseParticipantsAndTheirStats_SameViewTwice_SecondIsHit() {
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+        engine.addPoints(student, 5, 0, 0, 0);
+
+        String first = CourseReports.print(engine, "Java", 0, 10);
+        String second = CourseReports.print(engine, "Java", 0, 10);
+
+        assertEquals(first, second);
+        assertEquals(1, metrics.getCount(Metrics.STATISTICS_CACHE_HITS));
+        assertEquals(1, metrics.getCount(Metrics.STATISTICS_CACHE_MISSES));
+    }
+
+    @Test
+    void getCourseParticipantsAndTheirStats_PointsAddedToCourse_RenderedAgain() {
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+        engine.addPoints(student, 5, 0, 0, 0);
+        String before = CourseReports.print(engine, "Java", 0, 10);
+
+        engine.addPoints(student, 7, 0, 0, 0);
+        String after = CourseReports.print(engine, "Java", 0, 10);
+
+        assertNotEquals(before, after);
+        assertTrue(after.contains("12"));
+        assertEquals(0, metrics.getCount(Metrics.STATISTICS_CACHE_HITS));
+    }
+
+    @Test
+    void getCourseParticipantsAndTheirStats_PointsAddedToOtherCourse_StillHit() {
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+        engine.addPoints(student, 5, 0, 0, 0);
+        CourseReports.print(engine, "Java", 0, 10);
+
+        engine.addPoints(student, 0, 3, 0, 0);
+        CourseReports.print(engine, "Java", 0, 10);
+
+        assertEquals(1, metrics.getCount(Metrics.STATISTICS_CACHE_HITS));
+    }
+
+    @Test
+    void getStatisticsOverview_StudentRegistered_RenderedAgain() {
+        AtomicInteger renderings = new AtomicInteger();
+        Function<CoursesAggregates, String> renderer = aggregates -> "overview " + renderings.incrementAndGet();
+        engine.getStatisticsOverview(renderer);
+        assertEquals("overview 1", engine.getStatisticsOverview(renderer));
+
+        engine.register("John", "Smith", "jsmith@hotmail.com");
+
+        assertEquals("overview 2", engine.getStatisticsOverview(renderer));
+    }
+
+    @Test
+    void put_OverBound_LeastRecentlyUsedEvicted() {
+        Metrics cacheMetrics = new Metrics();
+        StatisticsCache cache = new StatisticsCache(4, 10, cacheMetrics);
+
+        cache.put("a", 0, "aaaa");
+        cache.put("b", 0, "bbbb");
+        assertNotNull(cache.get("a", 0));
+        cache.put("c", 0, "cccc");
+
+        assertNull(cache.get("b", 0));
+        assertEquals("aaaa", cache.get("a", 0));
+        assertEquals("cccc", cache.get("c", 0));
+        assertEquals(8, cache.getChars());
+        assertEquals(1, cacheMetrics.getCount(Metrics.STATISTICS_CACHE_EVICTIONS));
+    }
+
+    @Test
+    void put_OlderVersion_NewerEntryKept() {
+        StatisticsCache cache = new StatisticsCache(4, 100, new Metrics());
+
+        cache.put("a", 2, "new");
+        cache.put("a", 1, "old");
+
+        assertEquals("new", cache.get("a", 2));
+    }
+
+    @Test
+    void getStatisticsOverview_ZeroBound_NeverCached() {
+        TrackerEngine uncached = new TrackerEngine(CourseCatalog.DEFAULT, new IdAllocator(), 0);
+        AtomicInteger renderings = new AtomicInteger();
+
+        uncached.getStatisticsOverview(aggregates -> "overview " + renderings.incrementAndGet());
+        uncached.getStatisticsOverview(aggregates -> "overview " + renderings.incrementAndGet());
+
+        assertEquals(2, renderings.get());
+        assertEquals(0, uncached.getStatisticsCache().size());
+    }
+}
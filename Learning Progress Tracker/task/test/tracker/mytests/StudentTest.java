@@ -0,0 +1,44 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.courses.CoursesAggregates;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentTest {
+
+    @Test
+    void addPoints_EnrolledStudent_NothingAllocated() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threadBean.isThreadAllocatedMemorySupported());
+        CoursesAggregates coursesAggregates = new CoursesAggregates();
+        Student student = new StudentFactory(coursesAggregates).getStudent("John", "Smith", "jsmith@hotmail.com");
+        int[] points = {1, 0, 2, 1};
+        student.addPoints(points);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            student.addPoints(points);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // A single array or object per update would add up to megabytes.
+        assertTrue(allocated < 10_000, allocated + " bytes allocated");
+        assertEquals(100_001, student.getCourse(0).getPoints());
+        assertEquals((Integer) 1, (Integer) coursesAggregates.getParticipantsAmount(0));
+    }
+
+    @Test
+    void addPoints_WrongNumberOfValues_Rejected() {
+        Student student = new StudentFactory().getStudent("John", "Smith", "jsmith@hotmail.com");
+
+        assertThrows(IllegalArgumentException.class, () -> student.addPoints(1, 2, 3));
+        assertNull(student.getCourse(0));
+    }
+}
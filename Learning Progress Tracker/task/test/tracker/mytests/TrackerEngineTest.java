@@ -0,0 +1,250 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.CoursesStatistics;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.TrackerEngine;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+import tracker.journal.JournalException;
+import tracker.output.OutputSink;
+import tracker.student.Student;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackerEngineTest {
+    private static final int THREADS_AMOUNT = 8;
+
+    private final TrackerEngine engine = new TrackerEngine();
+
+    @Test
+    void register_SameEmailFromManyThreads_OnlyOneStudentRegistered() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(i -> {
+            try {
+                engine.register("John", "Smith", "jsmith@hotmail.com");
+            } catch (IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, engine.getStudents().size());
+        assertEquals(THREADS_AMOUNT - 1, rejected.get());
+    }
+
+    @Test
+    void register_DifferentEmailsFromManyThreads_UniqueIds() throws Exception {
+        runConcurrently(i -> {
+            for (int j = 0; j < 500; j++) {
+                engine.register("John", "Smith", "student" + i + "-" + j + "@mail.com");
+            }
+        });
+
+        assertEquals(THREADS_AMOUNT * 500, engine.getStudents().size());
+        for (Map.Entry<Integer, Student> entry : engine.getStudents().entrySet()) {
+            assertEquals((int) entry.getKey(), entry.getValue().getID());
+            assertTrue(entry.getKey() >= 1_000_000);
+        }
+    }
+
+    @Test
+    void addPoints_ManyThreadsOnSharedStudents_AggregatesMatchStudents() throws Exception {
+        for (int i = 0; i < 16; i++) {
+            engine.register("John", "Smith", "student" + i + "@mail.com");
+        }
+        List<Integer> ids = new ArrayList<>(engine.getStudents().keySet());
+
+        runConcurrently(i -> {
+            for (int j = 0; j < 2_000; j++) {
+                assertTrue(engine.addPoints(ids.get((i + j) % ids.size()), 1, 0, 2, j % 2));
+            }
+        });
+
+        int javaPoints = 0;
+        for (Student student : engine.getStudents().values()) {
+            javaPoints += student.getCourses().get("Java").getPoints();
+        }
+        assertEquals(THREADS_AMOUNT * 2_000, javaPoints);
+        CoursesAggregates aggregates = engine.getCoursesAggregates();
+        assertEquals(16, (int) aggregates.getParticipantsAmounts().get("Java"));
+        assertEquals(THREADS_AMOUNT * 2_000, (int) aggregates.getCompletedTasksAmounts().get("Databases"));
+        assertEquals(THREADS_AMOUNT * 1_000, (int) aggregates.getCompletedTasksAmounts().get("Spring"));
+        assertEquals(1_000.0, (double) aggregates.getAveragePoints().get("Java"));
+    }
+
+    @Test
+    void notifyFinishedCourses_WhileOthersAddPoints_EveryStudentNotifiedOnce() throws Exception {
+        for (int i = 0; i < 64; i++) {
+            engine.register("John", "Smith", "student" + i + "@mail.com");
+        }
+        List<Integer> ids = new ArrayList<>(engine.getStudents().keySet());
+        AtomicInteger notified = new AtomicInteger();
+
+        runConcurrently(i -> {
+            if (i == 0) {
+                for (int j = 0; j < 100; j++) {
+                    notified.addAndGet(engine.notifyFinishedCourses((student, course) -> { }));
+                }
+            } else {
+                for (int id : ids) {
+                    engine.addPoints(id, 100, 0, 0, 0);
+                }
+            }
+        });
+        notified.addAndGet(engine.notifyFinishedCourses((student, course) -> { }));
+
+        assertEquals(ids.size(), notified.get());
+    }
+
+    @Test
+    void notifyFinishedCourses_NotifierReadsStatistics_NotBlockedByNotify() throws Exception {
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+        engine.addPoints(student, new int[]{600, 0, 0, 0});
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        List<CoursesAggregates> seenByNotifier = new ArrayList<>();
+
+        try {
+            int notified = engine.notifyFinishedCourses((finishedStudent, course) -> {
+                try {
+                    seenByNotifier.add(reader.submit(engine::getCoursesAggregates).get(5, TimeUnit.SECONDS));
+                } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertEquals(1, notified);
+            assertEquals(1, seenByNotifier.size());
+        } finally {
+            reader.shutdown();
+        }
+    }
+
+    @Test
+    void register_JournalWriteFails_EmailReleased() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        Journal journal = Journal.open(file, DurabilityMode.SYNC, engine.getJournalReplayer());
+        engine.setJournal(journal);
+        journal.close();
+
+        assertThrows(JournalException.class, () -> engine.register("John", "Smith", "jsmith@hotmail.com"));
+        engine.setJournal(Journal.disabled());
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+
+        assertEquals(1, engine.getStudents().size());
+        assertEquals("jsmith@hotmail.com", student.getEmail());
+    }
+
+    @Test
+    void retryNotification_DeliveryFailed_NotifiedAgainAndJournaledOnlyOnceDelivered() throws IOException {
+        Path file = Files.createTempFile("journal", ".bin");
+        Journal journal = Journal.open(file, DurabilityMode.SYNC, engine.getJournalReplayer());
+        engine.setJournal(journal);
+        Student student = engine.register("John", "Smith", "jsmith@hotmail.com");
+        engine.addPoints(student, new int[]{600, 0, 0, 0});
+
+        assertEquals(1, engine.notifyFinishedCourses((finishedStudent, course) ->
+                engine.retryNotification(finishedStudent.getID(), course.NAME)));
+        assertFalse(student.getCourse(0).isNotified());
+        assertEquals(2, journal.getEntriesAmount());
+        assertEquals(1, engine.notifyFinishedCourses((finishedStudent, course) ->
+                engine.confirmNotified(finishedStudent.getID(), course.NAME)));
+        assertEquals(3, journal.getEntriesAmount());
+        assertEquals(0, engine.notifyFinishedCourses((finishedStudent, course) -> fail("Notified twice")));
+        journal.close();
+
+        TrackerEngine recovered = new TrackerEngine();
+        Journal.open(file, DurabilityMode.NONE, recovered.getJournalReplayer()).close();
+        assertTrue(recovered.getStudents().get(student.getID()).getCourse(0).isNotified());
+    }
+
+    @Test
+    void addPoints_UnknownStudent_ReturnsFalse() {
+        assertFalse(engine.addPoints(42, 1, 1, 1, 1));
+    }
+
+    @Test
+    void printCourseParticipantsAndTheirStats_ReportLongerThanPage_PrintedInPagesSameAsReport() {
+        for (int i = 0; i < 3_000; i++) {
+            Student student = engine.register("John", "Smith", "student" + i + "@mail.com");
+            engine.addPoints(student, i % 600 + 1, 0, 0, 0);
+        }
+        List<String> chunks = new ArrayList<>();
+        OutputSink out = new OutputSink() {
+            @Override
+            public void print(String text) {
+                chunks.add(text);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        engine.printCourseParticipantsAndTheirStats("Java", 0, Integer.MAX_VALUE, out);
+
+        assertEquals(3, chunks.size());
+        assertEquals(CoursesStatistics.getCourseParticipantsAndTheirStats(engine.getStudents(), "Java"),
+                String.join("", chunks));
+    }
+
+    @Test
+    void loadSnapshot_SavedEngine_SameAggregates() throws IOException {
+        for (int i = 0; i < 10_000; i++) {
+            Student student = engine.register("John", "Smith", "student" + i + "@mail.com");
+            if (i % 3 != 0) {
+                engine.addPoints(student, i % 7, i % 2, 0, i % 600);
+            }
+        }
+        Path snapshot = Files.createTempFile("tracker", ".snapshot");
+        snapshot.toFile().deleteOnExit();
+        engine.saveSnapshot(snapshot);
+
+        TrackerEngine restored = new TrackerEngine();
+        restored.loadSnapshot(snapshot);
+
+        CoursesAggregates expected = engine.getCoursesAggregates();
+        CoursesAggregates actual = restored.getCoursesAggregates();
+        assertEquals(expected.getParticipantsAmounts(), actual.getParticipantsAmounts());
+        assertEquals(expected.getCompletedTasksAmounts(), actual.getCompletedTasksAmounts());
+        assertEquals(expected.getAveragePoints(), actual.getAveragePoints());
+    }
+
+    private static void runConcurrently(IntConsumerWithException task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_AMOUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS_AMOUNT; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.accept(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface IntConsumerWithException {
+        void accept(int value) throws Exception;
+    }
+}
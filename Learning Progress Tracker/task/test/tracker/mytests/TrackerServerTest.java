@@ -0,0 +1,111 @@
+package tracker.mytests;
+
+import org.junit.jupiter.api.Test;
+import tracker.App;
+import tracker.engine.TrackerEngine;
+import tracker.output.BufferedOutputSink;
+import tracker.server.TrackerServer;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackerServerTest {
+    private final TrackerEngine engine = new TrackerEngine();
+
+    @Test
+    void session_CommandsOverConnection_SameOutputAsConsole() throws IOException {
+        try (TrackerServer server = new TrackerServer(0, (in, out) -> new App(engine, in, out).init())) {
+            String output = talk(server.getPort(), "add students", "John Smith jsmith@hotmail.com", "back",
+                    "add points", "1000000 5 0 0 1", "back", "find", "1000000", "back", "exit");
+
+            String expected = String.join(System.lineSeparator(),
+                    "Learning Progress Tracker",
+                    "Enter student credentials or 'back' to return:",
+                    "The student has been added",
+                    "Total 1 students have been added.",
+                    "Enter an id and points or 'back' to return:",
+                    "Points updated",
+                    "Enter an id or 'back' to return:",
+                    "1000000 points: Java=5 DSA=0 Databases=0 Spring=1",
+                    "Bye!", "");
+            assertEquals(expected, output);
+        }
+    }
+
+    @Test
+    void sessions_ManyClientsAddPoints_AllUpdatesReachSharedTracker() throws Exception {
+        engine.register("John", "Smith", "jsmith@hotmail.com");
+        int clientsAmount = 50;
+
+        try (TrackerServer server = new TrackerServer(0, (in, out) -> new App(engine, in, out).init())) {
+            ExecutorService clients = Executors.newFixedThreadPool(clientsAmount);
+            List<Future<String>> outputs = new ArrayList<>();
+            for (int i = 0; i < clientsAmount; i++) {
+                outputs.add(clients.submit(() -> talk(server.getPort(),
+                        "add points", "1000000 1 0 0 0", "1000000 1 0 0 0", "back", "exit")));
+            }
+            try {
+                for (Future<String> output : outputs) {
+                    assertTrue(output.get().endsWith("Bye!" + System.lineSeparator()));
+                }
+            } finally {
+                clients.shutdown();
+            }
+        }
+
+        assertEquals(2 * clientsAmount, engine.findStudent(1_000_000).getCourses().get("Java").getPoints());
+    }
+
+    @Test
+    void session_FileCommandsOverConnection_Rejected() throws IOException {
+        Path file = Files.createTempDirectory("tracker").resolve("x");
+        App app = new App(engine, InputStream.nullInputStream(), new BufferedOutputSink(new ByteArrayOutputStream()));
+        int port = app.startServer(0);
+        try {
+            String output = talk(port, "save " + file, "load " + file, "import students " + file,
+                    "import points " + file, "exit");
+
+            String rejected = "File commands are not available in network sessions." + System.lineSeparator();
+            assertTrue(output.contains(rejected.repeat(4)));
+            assertFalse(Files.exists(file));
+        } finally {
+            app.init();
+        }
+    }
+
+    @Test
+    void close_ClientStillConnected_SessionEnds() throws Exception {
+        TrackerServer server = new TrackerServer(0, (in, out) -> new App(engine, in, out).init());
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertEquals("Learning Progress Tracker", reader.readLine());
+
+            server.close();
+
+            assertEquals(0, server.getSessionsAmount());
+        }
+    }
+
+    private static String talk(int port, String... commands) throws IOException {
+        try (Socket socket = new Socket("localhost", port)) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            for (String command : commands) {
+                writer.write(command + "\n");
+            }
+            writer.flush();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            socket.getInputStream().transferTo(output);
+            return output.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
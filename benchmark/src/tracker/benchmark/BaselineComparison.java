@@ -0,0 +1,118 @@
+package tracker.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Compares two JMH CSV result files (-rf csv) row by row and prints the change of every score.
+// A row counts as a regression when it got worse by more than the threshold and by more than
+// both error margins together. Exits with 1 if there is any regression.
+//   java tracker.benchmark.BaselineComparison baseline.csv results.csv [threshold %]
+public class BaselineComparison {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.csv> <results.csv> [threshold %]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> results = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || before.value == 0) {
+                System.out.printf(Locale.ROOT, "%-100s %14s %14.3f %s (new)%n",
+                        entry.getKey(), "-", after.value, after.unit);
+                continue;
+            }
+
+            double changePercent = (after.value - before.value) / before.value * 100;
+            double worsePercent = after.higherIsBetter() ? -changePercent : changePercent;
+            boolean regression = worsePercent > thresholdPercent
+                    && Math.abs(after.value - before.value) > before.error + after.error;
+            regressions += regression ? 1 : 0;
+
+            System.out.printf(Locale.ROOT, "%-100s %14.3f %14.3f %s %+7.1f%%%s%n", entry.getKey(),
+                    before.value, after.value, after.unit, changePercent, regression ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%d regressions in %d results%n", regressions, results.size());
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // Keys are benchmark, mode, threads and parameters.
+    private static Map<String, Score> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> header = split(lines.get(0));
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> columns = split(line);
+            StringBuilder key = new StringBuilder(columns.get(0))
+                    .append(' ').append(columns.get(1))
+                    .append(" t=").append(columns.get(2));
+            for (int i = 7; i < columns.size(); i++) {
+                if (!columns.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(columns.get(i));
+                }
+            }
+            scores.put(key.toString(), new Score(parse(columns.get(4)), parse(columns.get(5)), columns.get(6)));
+        }
+        return scores;
+    }
+
+    private static double parse(String number) {
+        double value = Double.parseDouble(number);
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private static List<String> split(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static class Score {
+        final double value;
+        final double error;
+        final String unit;
+
+        Score(double value, double error, String unit) {
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        // Throughput is ops per time unit; times and allocation rates are better when lower.
+        boolean higherIsBetter() {
+            return unit.startsWith("ops/");
+        }
+    }
+}
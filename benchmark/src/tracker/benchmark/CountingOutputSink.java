@@ -0,0 +1,21 @@
+package tracker.benchmark;
+
+import tracker.output.OutputSink;
+
+// Counts the printed characters and drops them, so a benchmark measures rendering rather than output.
+class CountingOutputSink implements OutputSink {
+    long chars = 0;
+
+    @Override
+    public void print(String text) {
+        chars += text.length();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,90 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.student.CredentialsParser;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CredentialsParserBenchmark {
+
+    @Param({"valid", "multiWordLastName", "badFirstName", "badEmail", "hostileLongName", "hostileLongEmail"})
+    public String input;
+
+    private String credentials;
+
+    @Setup
+    public void createCredentials() {
+        switch (input) {
+            case "valid":
+                credentials = "John Smith jsmith@hotmail.com";
+                break;
+            case "multiWordLastName":
+                credentials = "Robert Jemison Van de Graaff robertvdgraaff@mit.edu";
+                break;
+            case "badFirstName":
+                credentials = "na'-me surname email@email.xyz";
+                break;
+            case "badEmail":
+                credentials = "name surname email@e@mail.xyz";
+                break;
+            case "hostileLongName":
+                credentials = "a" + "-a".repeat(5_000) + "--a surname email@email.xyz";
+                break;
+            case "hostileLongEmail":
+                credentials = "name surname " + "e.".repeat(5_000) + "@mail";
+                break;
+            default:
+                throw new IllegalArgumentException(input);
+        }
+    }
+
+    @Benchmark
+    public String legacyRegexValidation() {
+        try {
+            legacyValidateStudentCredentials(credentials);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String credentialsParser() {
+        return CredentialsParser.findError(credentials);
+    }
+
+    // The validation App used before CredentialsParser, kept as the baseline.
+    private static void legacyValidateStudentCredentials(String studentCredentials) {
+        if (studentCredentials.split(" ").length < 3) {
+            throw new IllegalArgumentException("Incorrect credentials.");
+        }
+
+        String name = studentCredentials.substring(0, studentCredentials.indexOf(" "));
+        String lastName = studentCredentials.substring(studentCredentials.indexOf(" ") + 1, studentCredentials.lastIndexOf(" "));
+        String email = studentCredentials.substring(studentCredentials.lastIndexOf(" ") + 1);
+
+        if (!isNameCorrect(name)) {
+            throw new IllegalArgumentException("Incorrect first name.");
+        } else if (!isNameCorrect(lastName)) {
+            throw new IllegalArgumentException("Incorrect last name.");
+        } else if (!email.matches("([^@])+@([^@.])+\\.([^@.])+")) {
+            throw new IllegalArgumentException("Incorrect email.");
+        }
+    }
+
+    private static boolean isNameCorrect(String name) {
+        name = name.replace(" ", "");
+
+        if (!name.matches("\\b[A-Za-z]+[A-Za-z-']+") || name.matches(".*[-'][-'].*")) {
+            return false;
+        }
+
+        return Character.isLetter(name.charAt(name.length() - 1));
+    }
+}
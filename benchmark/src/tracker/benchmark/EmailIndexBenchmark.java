@@ -0,0 +1,69 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.student.EmailIndex;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 1_000)
+@Measurement(iterations = 10, batchSize = 1_000)
+@Fork(1)
+public class EmailIndexBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int studentsAmount;
+
+    private Map<Integer, Student> studentsList;
+    private EmailIndex emailIndex;
+    private StudentFactory studentFactory;
+    private int nextEmail;
+
+    @Setup(Level.Iteration)
+    public void registerStudents() {
+        studentsList = new LinkedHashMap<>();
+        emailIndex = new EmailIndex();
+        studentFactory = new StudentFactory();
+        for (nextEmail = 0; nextEmail < studentsAmount; nextEmail++) {
+            register(email(nextEmail));
+        }
+    }
+
+    @Benchmark
+    public boolean registerWithLinearScan() {
+        String email = email(nextEmail++);
+        for (Student student : studentsList.values()) {
+            if (student.getEmail().equals(email)) {
+                return false;
+            }
+        }
+        register(email);
+        return true;
+    }
+
+    @Benchmark
+    public boolean registerWithEmailIndex() {
+        String email = email(nextEmail++);
+        if (emailIndex.contains(email)) {
+            return false;
+        }
+        register(email);
+        return true;
+    }
+
+    private void register(String email) {
+        Student student = studentFactory.getStudent("John", "Smith", email);
+        studentsList.put(student.getID(), student);
+        emailIndex.add(email);
+    }
+
+    private static String email(int number) {
+        return "student" + number + "@mail.com";
+    }
+}
@@ -0,0 +1,43 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.student.IdAllocator;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// Contention of registering threads on the ID allocator. A block size of 1 is one compare-and-set
+// per ID, like a single shared counter. Run once per thread count:
+//   for t in 1 2 4 8 16 32 64; do ./gradlew :benchmark:run --args="IdAllocatorBenchmark -t $t"; done
+// Iterations are kept short so the fresh allocator of each one cannot run out of int IDs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdAllocatorBenchmark {
+
+    @Param({"1", "64"})
+    public int blockSize;
+
+    private IdAllocator idAllocator;
+    private StudentFactory studentFactory;
+
+    @Setup(Level.Iteration)
+    public void createAllocator() {
+        idAllocator = new IdAllocator(blockSize);
+        studentFactory = new StudentFactory(new IdAllocator(blockSize));
+    }
+
+    @Benchmark
+    public int nextId() {
+        return idAllocator.nextId();
+    }
+
+    @Benchmark
+    public Student getStudent() {
+        return studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+    }
+}
@@ -0,0 +1,80 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.courses.CourseLeaderboards;
+import tracker.courses.CoursesAggregates;
+import tracker.journal.DurabilityMode;
+import tracker.journal.Journal;
+import tracker.journal.JournalReplayer;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class JournalRecoveryBenchmark {
+
+    @Param({"10000000"})
+    public int entriesAmount;
+
+    @Param({"100000"})
+    public int studentsAmount;
+
+    private Path journalFile;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        journalFile = Files.createTempFile("tracker-journal", ".bin");
+        try (Journal journal = Journal.open(journalFile, DurabilityMode.NONE, null)) {
+            for (int i = 0; i < studentsAmount; i++) {
+                journal.recordRegistration(1_000_000 + i, "John", "Smith", "student" + i + "@mail.com");
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = studentsAmount; i < entriesAmount; i++) {
+                journal.recordPoints(1_000_000 + random.nextInt(studentsAmount),
+                        new int[]{random.nextInt(10), random.nextInt(10), random.nextInt(10), random.nextInt(10)});
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        Files.deleteIfExists(journalFile);
+    }
+
+    @Benchmark
+    public Map<Integer, Student> recover() throws IOException {
+        Map<Integer, Student> studentsList = new LinkedHashMap<>();
+        StudentFactory studentFactory = new StudentFactory(new CoursesAggregates(), new CourseLeaderboards());
+
+        Journal journal = Journal.open(journalFile, DurabilityMode.NONE, new JournalReplayer() {
+            @Override
+            public void onRegistration(int studentId, String name, String lastName, String email) {
+                studentsList.put(studentId, studentFactory.restoreStudent(studentId, name, lastName, email));
+            }
+
+            @Override
+            public void onPoints(int studentId, int[] points) {
+                studentsList.get(studentId).addPoints(points[0], points[1], points[2], points[3]);
+            }
+
+            @Override
+            public void onNotified(int studentId, String courseName) {
+                studentsList.get(studentId).getCourses().get(courseName).setNotified(true);
+            }
+        });
+        journal.close();
+        return studentsList;
+    }
+}
@@ -0,0 +1,71 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.engine.TrackerEngine;
+import tracker.student.Student;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Writers that all add points to the same course, so they all move students within one leaderboard.
+// The students start spread over the scores of the course; with a lock per score bucket the throughput
+// should keep growing with the thread count instead of flattening at one thread:
+//   ./gradlew :benchmark:run --args='LeaderboardContentionBenchmark'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LeaderboardContentionBenchmark {
+    // Only read by the engine, so every writer thread can pass the same points.
+    private static final int[] JAVA_POINT = {1, 0, 0, 0};
+
+    @Param({"100000"})
+    public int studentsAmount;
+
+    private TrackerEngine engine;
+    private Student[] students;
+
+    // A fresh engine every iteration keeps the students well below the 600 points of Java.
+    @Setup(Level.Iteration)
+    public void registerStudents() {
+        engine = new TrackerEngine();
+        students = new Student[studentsAmount];
+        Random random = new Random(42);
+        for (int i = 0; i < studentsAmount; i++) {
+            students[i] = engine.register("John", "Smith", Population.email(i));
+            engine.addPoints(students[i], random.nextInt(400), 0, 0, 0);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addPoints1() {
+        addPoints();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void addPoints2() {
+        addPoints();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addPoints4() {
+        addPoints();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void addPoints8() {
+        addPoints();
+    }
+
+    private void addPoints() {
+        Student student = students[ThreadLocalRandom.current().nextInt(studentsAmount)];
+        engine.addPoints(student, JAVA_POINT);
+    }
+}
@@ -0,0 +1,58 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.engine.TrackerEngine;
+import tracker.notification.Notification;
+import tracker.notification.NotificationDispatcher;
+import tracker.notification.NotificationSink;
+import tracker.notification.NotificationTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// One `notify` over a fresh population in which about one student in a hundred finished Java:
+// once collecting the notifications only, and once rendering and delivering them to a sink
+// that drops the messages.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class NotifyBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int studentsAmount;
+
+    private TrackerEngine engine;
+    private NotificationDispatcher dispatcher;
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        engine = Population.create(studentsAmount);
+    }
+
+    @Setup(Level.Trial)
+    public void startDispatcher() {
+        NotificationSink discardingSink = (notifications, messages, delivered) -> delivered.set(0, messages.size());
+        dispatcher = new NotificationDispatcher(discardingSink, NotificationTemplate.DEFAULT, 64, 0, 1 << 12);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDispatcher() {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    public int notifyOnly() {
+        return engine.notifyFinishedCourses((student, course) -> { });
+    }
+
+    @Benchmark
+    public int notifyAndDeliver() {
+        int notifiedStudents = engine.notifyFinishedCourses((student, course) -> dispatcher.submit(
+                new Notification(student.getID(), student.getEmail(), student.getName(), student.getLastName(),
+                        course.NAME)));
+        dispatcher.flush();
+        return notifiedStudents;
+    }
+}
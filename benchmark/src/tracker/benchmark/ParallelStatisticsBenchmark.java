@@ -0,0 +1,46 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.CoursesAggregation;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.TrackerEngine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Scaling of the fork/join aggregation over the whole population from one core up to 64; with parallelism 1
+// it is the sequential scan. Parallelism above the number of cores of the machine shows the oversubscription cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx16g"})
+public class ParallelStatisticsBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int studentsAmount;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    public int parallelism;
+
+    private TrackerEngine engine;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        engine = Population.create(studentsAmount);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CoursesAggregates aggregate() {
+        return CoursesAggregation.aggregate(engine.getCatalog(), engine.getStudents(), pool,
+                CoursesAggregation.SEQUENTIAL_THRESHOLD);
+    }
+}
@@ -0,0 +1,37 @@
+package tracker.benchmark;
+
+import tracker.engine.TrackerEngine;
+
+import java.util.Random;
+
+// A reproducible tracker population shared by the benchmarks: every student registered, most of them
+// with some points, and roughly one in a hundred having finished Java.
+final class Population {
+    private Population() {
+    }
+
+    static TrackerEngine create(int studentsAmount) {
+        TrackerEngine engine = new TrackerEngine();
+        for (int i = 0; i < studentsAmount; i++) {
+            engine.register("John", "Smith", email(i));
+        }
+        addRandomPoints(engine, studentsAmount, new Random(42));
+        return engine;
+    }
+
+    static void addRandomPoints(TrackerEngine engine, int studentsAmount, Random random) {
+        for (int i = 0; i < studentsAmount; i++) {
+            int id = 1_000_000 + i;
+            if (random.nextInt(100) == 0) {
+                engine.addPoints(id, 600, 0, 0, 0);
+            } else {
+                engine.addPoints(id, random.nextInt(10), random.nextInt(10),
+                        random.nextInt(2) * random.nextInt(10), random.nextInt(4) == 0 ? random.nextInt(10) : 0);
+            }
+        }
+    }
+
+    static String email(int number) {
+        return "student" + number + "@mail.com";
+    }
+}
@@ -0,0 +1,69 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.engine.TrackerEngine;
+import tracker.student.Credentials;
+import tracker.student.CredentialsParser;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// The steps of `add students`: creating a Student, the credential validation App does before
+// registering (parsing plus the taken-email check) and the whole registration in the engine.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class RegistrationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int studentsAmount;
+
+    private TrackerEngine engine;
+    private StudentFactory studentFactory;
+    private int nextEmail;
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        engine = Population.create(studentsAmount);
+        studentFactory = new StudentFactory();
+        nextEmail = studentsAmount;
+    }
+
+    @Benchmark
+    public Student getStudent() {
+        return studentFactory.getStudent("John", "Smith", "jsmith@hotmail.com");
+    }
+
+    @Benchmark
+    public Credentials validateNewStudent() {
+        return validateStudentCredentials("John Smith new" + (nextEmail++ & 1023) + "@mail.com");
+    }
+
+    @Benchmark
+    public String validateTakenEmail() {
+        try {
+            validateStudentCredentials("John Smith " + Population.email(nextEmail++ % studentsAmount));
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Student register() {
+        return engine.register("John", "Smith", Population.email(nextEmail++));
+    }
+
+    // Same steps as App.validateStudentCredentials.
+    private Credentials validateStudentCredentials(String studentCredentials) {
+        Credentials credentials = CredentialsParser.parse(studentCredentials);
+        if (engine.isEmailTaken(credentials.getEmail())) {
+            throw new IllegalArgumentException("This email is already taken.");
+        }
+        return credentials;
+    }
+}
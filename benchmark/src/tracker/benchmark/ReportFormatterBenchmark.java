@@ -0,0 +1,77 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.output.ReportFormatter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Report rows of 1024 participants in turn, formatted the way course reports used to be and with the formatter.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportFormatterBenchmark {
+    private static final int ROWS = 1 << 10;
+    private static final int MAX_POINTS = 600;
+
+    private final int[] studentIds = new int[ROWS];
+    private final int[] points = new int[ROWS];
+    private final ReportFormatter report = new ReportFormatter(ROWS * 32);
+    private final StringBuilder percent = new StringBuilder();
+    private int row = 0;
+
+    @Setup
+    public void createRows() {
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            studentIds[i] = 1_000_000 + i;
+            points[i] = 1 + random.nextInt(MAX_POINTS);
+        }
+    }
+
+    @Benchmark
+    public int legacyFormatRow() {
+        int i = row++ & ROWS - 1;
+        double completedPercent = BigDecimal.valueOf((double) points[i] / MAX_POINTS * 100)
+                .setScale(1, RoundingMode.HALF_UP)
+                .doubleValue();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10.10s ", studentIds[i]))
+                .append(String.format("%-8.8s ", points[i]))
+                .append(String.format("%-10.10s", completedPercent + "%"))
+                .append(System.lineSeparator());
+        return sb.length();
+    }
+
+    @Benchmark
+    public int formatterRow() {
+        int i = row++ & ROWS - 1;
+        report.clear();
+        report.column(studentIds[i], 10).append(' ')
+                .column(points[i], 8).append(' ')
+                .percentColumn(points[i], MAX_POINTS, 10)
+                .newLine();
+        return report.length();
+    }
+
+    @Benchmark
+    public double legacyPercent() {
+        int i = row++ & ROWS - 1;
+        return BigDecimal.valueOf((double) points[i] / MAX_POINTS * 100)
+                .setScale(1, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    @Benchmark
+    public int fixedPointPercent() {
+        int i = row++ & ROWS - 1;
+        percent.setLength(0);
+        ReportFormatter.appendPercent(percent, points[i], MAX_POINTS);
+        return percent.length();
+    }
+}
@@ -0,0 +1,64 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.input.ByteLineReader;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+// Reading a generated script of points updates with Scanner, as typed commands are read, and with the
+// byte-level reader of --script. Both read from memory, so the numbers are the parsing cost alone.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ScriptReaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int linesAmount;
+
+    private byte[] script;
+
+    @Setup
+    public void createScript() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < linesAmount; i++) {
+            sb.append(1_000_000 + random.nextInt(100_000));
+            for (int course = 0; course < 4; course++) {
+                sb.append(' ').append(random.nextInt(10));
+            }
+            sb.append('\n');
+        }
+        script = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public long scanner() {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(script), StandardCharsets.UTF_8);
+        long chars = 0;
+        while (scanner.hasNextLine()) {
+            chars += scanner.nextLine().length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public long byteLineReader() {
+        ByteLineReader reader = new ByteLineReader(new ByteArrayInputStream(script));
+        long chars = 0;
+        try {
+            while (true) {
+                chars += reader.nextLine().length();
+            }
+        } catch (NoSuchElementException e) {
+            return chars;
+        }
+    }
+}
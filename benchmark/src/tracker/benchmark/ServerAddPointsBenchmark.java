@@ -0,0 +1,88 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.App;
+import tracker.engine.TrackerEngine;
+import tracker.server.TrackerServer;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Round trips of `add points` clients against one server, each JMH thread being one connected client.
+// Idle sessions stay connected in the background to show the cost of thousands of open sessions:
+//   ./gradlew :benchmark:run --args='ServerAddPointsBenchmark -t 64'
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ServerAddPointsBenchmark {
+
+    @Param({"10000"})
+    public int studentsAmount;
+
+    @Param({"0", "5000"})
+    public int idleSessionsAmount;
+
+    private TrackerServer server;
+    private final List<Socket> idleSessions = new ArrayList<>();
+
+    @State(Scope.Thread)
+    public static class Client {
+        private Socket socket;
+        private Writer writer;
+        private BufferedReader reader;
+
+        @Setup(Level.Trial)
+        public void connect(ServerAddPointsBenchmark benchmark) throws IOException {
+            socket = new Socket("localhost", benchmark.server.getPort());
+            socket.setTcpNoDelay(true);
+            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer.write("add points\n");
+            writer.flush();
+            reader.readLine();
+            reader.readLine();
+        }
+
+        @TearDown(Level.Trial)
+        public void disconnect() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        TrackerEngine engine = new TrackerEngine();
+        for (int i = 0; i < studentsAmount; i++) {
+            engine.register("John", "Smith", "student" + i + "@mail.com");
+        }
+        server = new TrackerServer(0, (in, out) -> new App(engine, in, out).init());
+
+        for (int i = 0; i < idleSessionsAmount; i++) {
+            idleSessions.add(new Socket("localhost", server.getPort()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        for (Socket socket : idleSessions) {
+            socket.close();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public String addPoints(Client client) throws IOException {
+        int id = 1_000_000 + ThreadLocalRandom.current().nextInt(studentsAmount);
+        client.writer.write(id + " 1 2 3 4\n");
+        client.writer.flush();
+        return client.reader.readLine();
+    }
+}
@@ -0,0 +1,117 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.CoursesStatistics;
+import tracker.courses.CoursesAggregates;
+import tracker.engine.TrackerEngine;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Every statistic printed by `statistics`, the course reports, and the full scans over all students
+// the statistics were computed with before the aggregates, as the baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class StatisticsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int studentsAmount;
+
+    private TrackerEngine engine;
+    private CoursesAggregates coursesAggregates;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        engine = Population.create(studentsAmount);
+        coursesAggregates = engine.getCoursesAggregates();
+    }
+
+    @Benchmark
+    public CoursesAggregates coursesAggregates() {
+        return engine.getCoursesAggregates();
+    }
+
+    @Benchmark
+    public Set<String> mostPopularCourses() {
+        return CoursesStatistics.getMostPopularCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> leastPopularCourses() {
+        return CoursesStatistics.getLeastPopularCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> highestActivityCourses() {
+        return CoursesStatistics.getHighestActivityCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> lowestActivityCourses() {
+        return CoursesStatistics.getLowestActivityCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> easiestCourses() {
+        return CoursesStatistics.getEasiestCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> hardestCourses() {
+        return CoursesStatistics.getHardestCoursesNames(coursesAggregates);
+    }
+
+    @Benchmark
+    public Set<String> mostPopularCoursesByScan() {
+        return CoursesStatistics.getMostPopularCoursesNames(engine.getStudents());
+    }
+
+    @Benchmark
+    public Set<String> leastPopularCoursesByScan() {
+        return CoursesStatistics.getLeastPopularCoursesNames(engine.getStudents());
+    }
+
+    @Benchmark
+    public Set<String> highestActivityCoursesByScan() {
+        return CoursesStatistics.getHighestActivityCoursesNames(engine.getStudents());
+    }
+
+    @Benchmark
+    public Set<String> lowestActivityCoursesByScan() {
+        return CoursesStatistics.getLowestActivityCoursesNames(engine.getStudents());
+    }
+
+    @Benchmark
+    public Set<String> easiestCoursesByScan() {
+        return CoursesStatistics.getEasiestCoursesNames(engine.getStudents());
+    }
+
+    @Benchmark
+    public Set<String> hardestCoursesByScan() {
+        return CoursesStatistics.getHardestCoursesNames(engine.getStudents());
+    }
+
+    // Printed page by page into a sink that only counts, so the report is never held in one string.
+    @Benchmark
+    public long javaParticipantsStreamed() {
+        CountingOutputSink out = new CountingOutputSink();
+        engine.printCourseParticipantsAndTheirStats("Java", 0, Integer.MAX_VALUE, out);
+        return out.chars;
+    }
+
+    @Benchmark
+    public long javaTop10() {
+        CountingOutputSink out = new CountingOutputSink();
+        engine.printCourseParticipantsAndTheirStats("Java", 0, 10, out);
+        return out.chars;
+    }
+
+    @Benchmark
+    public String javaParticipantsByScan() {
+        return CoursesStatistics.getCourseParticipantsAndTheirStats(engine.getStudents(), "Java");
+    }
+}
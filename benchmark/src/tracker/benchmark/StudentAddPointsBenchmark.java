@@ -0,0 +1,57 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.student.Student;
+import tracker.student.StudentFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// The points arrays are created once per trial, so the update itself is all that is measured.
+// Run with the GC profiler to see the allocation rate, which should be 0 B/op after warm-up:
+//   ./gradlew :benchmark:run --args='StudentAddPointsBenchmark -prof gc'
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StudentAddPointsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int studentsAmount;
+
+    private final int[] allCoursesPoints = {1, 2, 3, 4};
+    private final int[] oneCoursePoints = {0, 0, 5, 0};
+    private Student[] students;
+    private int nextStudent = 0;
+
+    @Setup(Level.Iteration)
+    public void enrollStudents() {
+        StudentFactory studentFactory = new StudentFactory();
+        students = new Student[studentsAmount];
+        for (int i = 0; i < studentsAmount; i++) {
+            students[i] = studentFactory.getStudent("John", "Smith", "student" + i + "@mail.com");
+            students[i].addPoints(allCoursesPoints);
+        }
+    }
+
+    @Benchmark
+    public Student addPointsToAllCourses() {
+        Student student = nextStudent();
+        student.addPoints(allCoursesPoints);
+        return student;
+    }
+
+    @Benchmark
+    public Student addPointsToOneCourse() {
+        Student student = nextStudent();
+        student.addPoints(oneCoursePoints);
+        return student;
+    }
+
+    private Student nextStudent() {
+        Student student = students[nextStudent];
+        nextStudent = nextStudent + 1 == studentsAmount ? 0 : nextStudent + 1;
+        return student;
+    }
+}
@@ -0,0 +1,70 @@
+package tracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tracker.engine.TrackerEngine;
+import tracker.student.Student;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput of concurrent writers on one shared engine. Compare thread counts with -t, e.g.
+//   ./gradlew :benchmark:run --args='TrackerEngineBenchmark -t 1'
+//   ./gradlew :benchmark:run --args='TrackerEngineBenchmark -t 8'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrackerEngineBenchmark {
+    // Only read by the engine, so every writer thread can pass the same points.
+    private static final int[] POINTS = {1, 2, 3, 4};
+
+    @Param({"100000"})
+    public int studentsAmount;
+
+    private TrackerEngine engine;
+    private Student[] students;
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private int nextEmail = 0;
+    }
+
+    @Setup(Level.Iteration)
+    public void registerStudents() {
+        engine = new TrackerEngine();
+        students = new Student[studentsAmount];
+        for (int i = 0; i < studentsAmount; i++) {
+            students[i] = engine.register("John", "Smith", "student" + i + "@mail.com");
+        }
+    }
+
+    @Benchmark
+    public void addPoints() {
+        Student student = students[ThreadLocalRandom.current().nextInt(studentsAmount)];
+        engine.addPoints(student, POINTS);
+    }
+
+    @Benchmark
+    public Student register(Writer writer) {
+        return engine.register("Jane", "Doe",
+                Thread.currentThread().getId() + "." + writer.nextEmail++ + "@new.com");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public void mixedAddPoints() {
+        addPoints();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public long mixedCourseReport() {
+        CountingOutputSink out = new CountingOutputSink();
+        engine.printCourseParticipantsAndTheirStats("Java", 0, 10, out);
+        return out.chars;
+    }
+}